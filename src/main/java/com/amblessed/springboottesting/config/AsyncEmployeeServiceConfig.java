@@ -0,0 +1,50 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.service.AsyncEmployeeService;
+import com.amblessed.springboottesting.service.AsyncEmployeeServiceImpl;
+import com.amblessed.springboottesting.service.EmployeeService;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wires {@link AsyncEmployeeServiceImpl} in front of whichever {@link EmployeeService} is primary (the cached one
+ * when the service cache is enabled), on an executor of its own so slow employee calls cannot starve other pools.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncEmployeeServiceProperties.class)
+public class AsyncEmployeeServiceConfig {
+
+    private static final String THREAD_NAME_PREFIX = "employee-async-";
+
+    // a virtual thread per call when spring.threads.virtual.enabled is set, otherwise a fixed pool sized to the
+    // bulkhead; either way the bulkhead in AsyncEmployeeServiceImpl bounds how many calls run at once
+    @Bean(destroyMethod = "close")
+    public ExecutorService employeeServiceExecutor(AsyncEmployeeServiceProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory());
+        }
+        return Executors.newFixedThreadPool(properties.maxConcurrentCalls(), new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+    }
+
+    @Bean
+    public AsyncEmployeeService asyncEmployeeService(EmployeeService employeeService, ExecutorService employeeServiceExecutor,
+                                                     AsyncEmployeeServiceProperties properties) {
+        return new AsyncEmployeeServiceImpl(employeeService, employeeServiceExecutor, properties);
+    }
+}
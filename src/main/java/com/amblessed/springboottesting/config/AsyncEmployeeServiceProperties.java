@@ -0,0 +1,25 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits of the async employee API. At most {@code maxConcurrentCalls} operations run at once (further calls are
+ * rejected straight away rather than queued), and a caller stops waiting for a result after {@code timeout}.
+ */
+@ConfigurationProperties(prefix = "employee.async")
+public record AsyncEmployeeServiceProperties(
+        @DefaultValue("64") int maxConcurrentCalls,
+        @DefaultValue("5s") Duration timeout) {
+}
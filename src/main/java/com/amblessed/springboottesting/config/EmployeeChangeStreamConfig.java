@@ -0,0 +1,50 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import com.amblessed.springboottesting.service.EmployeeChangeFeed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Wires {@link EmployeeChangeFeed} for the servlet stack. Sends run on virtual threads, so a subscriber blocked
+ * on a slow socket costs no platform thread; one scheduler thread queues the heartbeats.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(EmployeeChangeStreamProperties.class)
+public class EmployeeChangeStreamConfig {
+
+    // shutdownNow rather than close: close would wait for a send stuck on a client that stopped reading
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService employeeStreamSender() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("employee-stream-", 1).factory());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService employeeStreamHeartbeats() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("employee-stream-heartbeat").daemon().factory());
+    }
+
+    @Bean
+    public EmployeeChangeFeed employeeChangeFeed(EmployeeOutboxRepository employeeOutboxRepository,
+                                                 EmployeeChangeStreamProperties properties,
+                                                 ExecutorService employeeStreamSender,
+                                                 ScheduledExecutorService employeeStreamHeartbeats) {
+        return new EmployeeChangeFeed(employeeOutboxRepository, properties, employeeStreamSender, employeeStreamHeartbeats);
+    }
+}
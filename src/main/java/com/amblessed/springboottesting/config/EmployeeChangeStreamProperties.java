@@ -0,0 +1,28 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The employee change stream. Each subscriber may fall up to {@code bufferSize} changes behind before it is
+ * disconnected; a resuming subscriber is replayed at most {@code replayLimit} changes. Idle streams get a comment
+ * every {@code heartbeatInterval} so proxies keep them open, and are closed after {@code timeout} to be resumed.
+ */
+@ConfigurationProperties(prefix = "employee.stream")
+public record EmployeeChangeStreamProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("10000") int replayLimit,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout) {
+}
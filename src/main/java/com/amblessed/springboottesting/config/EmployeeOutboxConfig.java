@@ -0,0 +1,51 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import com.amblessed.springboottesting.service.EmployeeChangeSink;
+import com.amblessed.springboottesting.service.EmployeeOutboxRelay;
+import com.amblessed.springboottesting.service.FileEmployeeChangeSink;
+import com.amblessed.springboottesting.service.InProcessEmployeeChangeSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Wires the outbox relay and its sinks: the in-process sink always, the file sink when
+ * {@code employee.outbox.file-sink-path} is set. Any other {@link EmployeeChangeSink} bean is published to as well.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EmployeeOutboxProperties.class)
+public class EmployeeOutboxConfig {
+
+    @Bean
+    public InProcessEmployeeChangeSink inProcessEmployeeChangeSink(ApplicationEventPublisher applicationEventPublisher) {
+        return new InProcessEmployeeChangeSink(applicationEventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.outbox", name = "file-sink-path")
+    public FileEmployeeChangeSink fileEmployeeChangeSink(EmployeeOutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileEmployeeChangeSink(properties.fileSinkPath(), objectMapper);
+    }
+
+    @Bean
+    public EmployeeOutboxRelay employeeOutboxRelay(EmployeeOutboxRepository employeeOutboxRepository,
+                                                   List<EmployeeChangeSink> sinks, EmployeeOutboxProperties properties) {
+        return new EmployeeOutboxRelay(employeeOutboxRepository, sinks, properties);
+    }
+}
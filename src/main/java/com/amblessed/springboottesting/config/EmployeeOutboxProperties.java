@@ -0,0 +1,30 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The outbox relay. It publishes up to {@code batchSize} changes at a time, and looks again after
+ * {@code pollInterval} once it has caught up or a sink has failed. Published changes are kept for
+ * {@code retention}. With {@code fileSinkPath} set, changes are also appended to that file.
+ */
+@ConfigurationProperties(prefix = "employee.outbox")
+public record EmployeeOutboxProperties(
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("1d") Duration retention,
+        Path fileSinkPath) {
+}
@@ -0,0 +1,41 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.service.CachingEmployeeService;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.service.EmployeeServiceImpl;
+import com.amblessed.springboottesting.service.ShardedEmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts {@link CachingEmployeeService} in front of {@link EmployeeServiceImpl}, or of {@link ShardedEmployeeService}
+ * when the sharded store is configured, when {@code employee.service-cache.enabled=true}; otherwise callers get the
+ * service directly.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.service-cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(EmployeeServiceCacheProperties.class)
+public class EmployeeServiceCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingEmployeeService cachingEmployeeService(EmployeeServiceImpl employeeServiceImpl,
+                                                         ObjectProvider<ShardedEmployeeService> shardedEmployeeService,
+                                                         EmployeeServiceCacheProperties properties) {
+        EmployeeService delegate = shardedEmployeeService.getIfAvailable();
+        return new CachingEmployeeService(delegate == null ? employeeServiceImpl : delegate, properties);
+    }
+}
@@ -0,0 +1,27 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the cache-aside layer in front of {@code EmployeeService}. Unknown ids are cached for
+ * {@code negativeTimeToLive}, which is kept short so a newly created employee is not hidden for long.
+ */
+@ConfigurationProperties(prefix = "employee.service-cache")
+public record EmployeeServiceCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("10s") Duration negativeTimeToLive) {
+}
@@ -0,0 +1,130 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.repository.EmployeeShardMap;
+import com.amblessed.springboottesting.repository.EmployeeShardRebalancer;
+import com.amblessed.springboottesting.repository.EmployeeShards;
+import com.amblessed.springboottesting.repository.ShardedEmployeeRepository;
+import com.amblessed.springboottesting.service.ShardedEmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sets up the sharded employee store once {@code employee.sharding.shards[0].url} is set: a pool per shard, the
+ * tbl_employees migrations on every shard, the bucket catalog on shard 0, {@link ShardedEmployeeRepository}, and
+ * {@link ShardedEmployeeService}, which then serves the employee endpoints in place of EmployeeServiceImpl. Requires
+ * {@code employee.outbox.relay-enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.sharding", name = "shards[0].url")
+@EnableConfigurationProperties(EmployeeShardingProperties.class)
+public class EmployeeShardingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Bean
+    public EmployeeShards employeeShards(EmployeeShardingProperties properties) {
+        List<JdbcTemplate> shards = new ArrayList<>();
+        for (int index = 0; index < properties.shards().size(); index++) {
+            EmployeeShardingProperties.Shard shard = properties.shards().get(index);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName("employee-shard-" + index);
+            dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+            shardDataSources.add(dataSource);
+            migrate(dataSource);
+            shards.add(new JdbcTemplate(dataSource));
+        }
+        return new EmployeeShards(shards);
+    }
+
+    @Bean
+    public EmployeeShardMap employeeShardMap(EmployeeShards employeeShards) {
+        return new EmployeeShardMap(employeeShards.databases().get(0), employeeShards.databases().size());
+    }
+
+    // scatter-gather fans out one blocking query per shard; virtual threads keep that from needing a sized pool
+    @Bean(destroyMethod = "close")
+    public ExecutorService employeeShardExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("employee-shard-", 1).factory());
+    }
+
+    @Bean
+    public ShardedEmployeeRepository shardedEmployeeRepository(EmployeeShards employeeShards, EmployeeShardMap employeeShardMap,
+                                                               ExecutorService employeeShardExecutor) {
+        return new ShardedEmployeeRepository(employeeShards.databases(), employeeShardMap, employeeShardExecutor);
+    }
+
+    // sharded writes append nothing to the outbox, so a running relay would publish nothing and the change stream
+    // would go quiet without a sign; the relay has to be switched off explicitly
+    @Bean
+    public ShardedEmployeeService shardedEmployeeService(ShardedEmployeeRepository shardedEmployeeRepository, Environment environment) {
+        if (environment.getProperty("employee.outbox.relay-enabled", Boolean.class, true)) {
+            throw new IllegalStateException("The sharded employee store writes no outbox; "
+                    + "set employee.outbox.relay-enabled=false to run it");
+        }
+        return new ShardedEmployeeService(shardedEmployeeRepository);
+    }
+
+    @Bean
+    public EmployeeShardRebalancer employeeShardRebalancer(EmployeeShards employeeShards, EmployeeShardMap employeeShardMap) {
+        return new EmployeeShardRebalancer(employeeShards.databases(), employeeShardMap);
+    }
+
+    // clears out what an interrupted bucket move left behind before any bucket moves again
+    @Bean
+    public ApplicationRunner employeeShardRebalanceRunner(EmployeeShardRebalancer employeeShardRebalancer,
+                                                          EmployeeShardingProperties properties) {
+        return arguments -> {
+            employeeShardRebalancer.deleteUnownedRows();
+            if (properties.rebalanceOnStartup()) {
+                employeeShardRebalancer.rebalance();
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Brings a shard to the current tbl_employees schema and adds the bucket catalog and the email directory. Those
+     * have a history table of their own so their versions never interleave with those of db/migration.
+     */
+    public static void migrate(DataSource shard) {
+        Flyway.configure().dataSource(shard).locations("classpath:db/migration").load().migrate();
+        Flyway.configure().dataSource(shard).locations("classpath:db/sharding")
+                .table("flyway_sharding_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load().migrate();
+    }
+}
@@ -0,0 +1,29 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Databases of the sharded employee store, in shard order: shard 0 also holds the bucket catalog, and new shards
+ * are only ever appended. With {@code rebalanceOnStartup} the buckets are evened out over all shards at startup.
+ */
+@ConfigurationProperties(prefix = "employee.sharding")
+public record EmployeeShardingProperties(
+        @DefaultValue List<Shard> shards,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("false") boolean rebalanceOnStartup) {
+
+    public record Shard(String url, String username, String password) {
+    }
+}
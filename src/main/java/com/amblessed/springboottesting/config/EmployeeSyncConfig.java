@@ -0,0 +1,21 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds {@link EmployeeSyncProperties} for {@code EmployeeService.getEmployeeChanges}.
+ */
+@Configuration
+@EnableConfigurationProperties(EmployeeSyncProperties.class)
+public class EmployeeSyncConfig {
+}
@@ -0,0 +1,33 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Delta sync. A change version is drawn when a row is written, not when its transaction commits, so a sync
+ * only hands out changes whose last_modified is older than {@code settleTime} by the database's clock. last_modified
+ * is the start of the writing transaction, and a write transaction may run for at most {@link #maxWriteTime()}, half
+ * the settle time: a version drawn before a settled change then belongs to a transaction that has committed or
+ * rolled back, and the sync token can move past it without skipping one. A zero settle time lifts the limit and
+ * hands out changes as soon as they are visible, which is only safe with a single writer.
+ */
+@ConfigurationProperties(prefix = "employee.sync")
+public record EmployeeSyncProperties(
+        @DefaultValue("5s") Duration settleTime) {
+
+    // longer write transactions are rolled back at commit
+    public Duration maxWriteTime() {
+        return settleTime.dividedBy(2);
+    }
+}
@@ -0,0 +1,33 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.service.EmployeeWriteBehindQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires {@link EmployeeWriteBehindQueue} in front of the primary {@link EmployeeService} when
+ * {@code employee.write-behind.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.write-behind", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(EmployeeWriteBehindProperties.class)
+public class EmployeeWriteBehindConfig {
+
+    @Bean
+    public EmployeeWriteBehindQueue employeeWriteBehindQueue(EmployeeService employeeService,
+                                                             EmployeeWriteBehindProperties properties) {
+        return new EmployeeWriteBehindQueue(employeeService, properties);
+    }
+}
@@ -0,0 +1,32 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind creates. At most {@code queueCapacity} creates wait to be written; the flusher writes them in
+ * batches of up to {@code batchSize}, or whatever has arrived once {@code flushInterval} has passed since the first
+ * one. The outcome of each create can be looked up for {@code statusRetention}. On shutdown the queue is written
+ * out for up to {@code drainTimeout}.
+ */
+@ConfigurationProperties(prefix = "employee.write-behind")
+public record EmployeeWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("10m") Duration statusRetention,
+        @DefaultValue("100000") int statusCapacity,
+        @DefaultValue("30s") Duration drainTimeout) {
+}
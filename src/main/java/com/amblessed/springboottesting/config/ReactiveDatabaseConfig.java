@@ -0,0 +1,67 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC access to tbl_employees for the reactive stack, built from the {@code spring.r2dbc.*} properties.
+ * <p>
+ * The pool is kept out of the context on purpose: a {@code ConnectionFactory} bean makes Boot drop the JDBC
+ * DataSource that Flyway and JPA run on, and an R2DBC transaction manager bean would compete with the JPA one
+ * for {@code @Transactional}. Reactive code uses the {@link TransactionalOperator} below instead.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveDatabaseConfig(R2dbcProperties properties) {
+        ConnectionFactoryBuilder connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(properties.getUsername()).to(connectionFactory::username);
+        map.from(properties.getPassword()).to(connectionFactory::password);
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(connectionFactory.build())
+                .initialSize(properties.getPool().getInitialSize())
+                .maxSize(properties.getPool().getMaxSize())
+                .maxIdleTime(properties.getPool().getMaxIdleTime())
+                .build();
+        this.connectionPool = new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,66 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients committed a read-write transaction in the last {@code window}. A client is the
+ * {@code X-Client-Id} request header, else the remote address; work outside an HTTP request counts as one local client.
+ * <p>
+ * Registered with the transaction manager as a {@link TransactionExecutionListener}, so every write path is covered,
+ * including repository methods called without a service transaction.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+    private static final String LOCAL_CLIENT = "local";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            recentWriters.put(currentClient(), Boolean.TRUE);
+        }
+    }
+
+    public boolean isWithinWindow() {
+        return recentWriters.getIfPresent(currentClient()) != null;
+    }
+
+    void clear() {
+        recentWriters.invalidateAll();
+    }
+
+    private static String currentClient() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String client = request.getHeader(CLIENT_HEADER);
+            return client != null ? client : request.getRemoteAddr();
+        }
+        return LOCAL_CLIENT;
+    }
+}
@@ -0,0 +1,74 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only work: from one of the replica pools, picked round-robin or by the fewest
+ * connections in use, or from the primary while the current client is inside its read-your-writes window.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaRoutingProperties.Selection selection;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicas,
+                             ReplicaRoutingProperties.Selection selection, ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private DataSource target() {
+        if (readYourWritesTracker.isWithinWindow()) {
+            return primary;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            case LEAST_BUSY -> replicas.stream().min(Comparator.comparingInt(ReplicaDataSource::activeConnections)).orElseThrow();
+        };
+    }
+
+    // a pool that has not been used yet has no MXBean and nothing in use
+    private static int activeConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+}
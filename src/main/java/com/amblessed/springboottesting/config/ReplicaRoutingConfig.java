@@ -0,0 +1,77 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions ({@code @Transactional(readOnly = true)}) to read replicas once
+ * {@code employee.datasource.replicas[0].url} is set; without replicas Boot's single DataSource is used as before.
+ * <p>
+ * The application DataSource is a {@link LazyConnectionDataSourceProxy}: the transaction manager marks the
+ * connection read-only before any statement runs, and only then does the proxy fetch a physical connection,
+ * from {@link ReplicaDataSource} for read-only work and from the primary pool for everything else.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.readYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, ReplicaRoutingProperties properties,
+                                               ReadYourWritesTracker readYourWritesTracker) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int index = 0; index < properties.replicas().size(); index++) {
+            ReplicaRoutingProperties.Replica replica = properties.replicas().get(index);
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            replicaDataSource.setPoolName("replica-" + index);
+            replicaDataSource.setReadOnly(true);
+            replicas.add(replicaDataSource);
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, properties.selection(), readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
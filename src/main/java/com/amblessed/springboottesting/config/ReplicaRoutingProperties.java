@@ -0,0 +1,36 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas of the primary database ({@code spring.datasource.*}). Read-only transactions are spread over
+ * {@code replicas} by {@code selection}; a client that wrote within {@code readYourWritesWindow} reads from the
+ * primary instead, so it never misses its own write while the replicas catch up.
+ */
+@ConfigurationProperties(prefix = "employee.datasource")
+public record ReplicaRoutingProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("round-robin") Selection selection,
+        @DefaultValue("2s") Duration readYourWritesWindow) {
+
+    public record Replica(String url, String username, String password) {
+    }
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_BUSY
+    }
+}
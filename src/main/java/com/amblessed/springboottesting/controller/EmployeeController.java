@@ -8,56 +8,186 @@ package com.amblessed.springboottesting.controller;
  * @Created: 21-Feb-25
  */
 
+import com.amblessed.springboottesting.exception.PreconditionRequiredException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.service.EmployeeChangeFeed;
 import com.amblessed.springboottesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @AllArgsConstructor
 public class EmployeeController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private EmployeeService employeeService;
 
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Employee createEmployee(@RequestBody Employee employee) {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("/batch")
+    public List<EmployeeBatchResult> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    // Without cursor or limit the whole table is returned as before; with either one the response is a single
+    // keyset page and the cursor for the next page is sent in the X-Next-Cursor header.
+    // The list and each of its pages carry the collection version as their ETag, so a matching If-None-Match is
+    // answered with 304 before any employee is loaded or serialized. checkNotModified sets the ETag either way.
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          WebRequest request) {
+        if (request.checkNotModified(employeeService.getEmployeesVersion())) {
+            return null;
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(employeeService.getAllEmployees());
+        }
+        EmployeePage page = employeeService.getEmployeesPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.employees());
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    // Writes one JSON document per line while the rows are read, so the response starts with the first row
+    // and memory stays flat whatever the size of the table.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            try {
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(employee));
+                        outputStream.write('\n');
+                        if (++written[0] == 1 || written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
+    // Server-Sent Events of every create, update and delete, optionally only for ?ids=1,2,3; a reconnecting
+    // client's Last-Event-ID resumes the stream after the last change it received
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                            @RequestParam(required = false) Set<Long> ids) {
+        return employeeChangeFeed.subscribe(lastEventId, ids);
+    }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee) {
-        if(employeeService.getEmployeeById(id).isEmpty()) {
+    // delta sync: the creates, updates and deletes after the ?since token, oldest first; without since the first
+    // sync walks the whole table, after that each sync costs only what changed
+    @GetMapping("/changes")
+    public EmployeeChanges getEmployeeChanges(@RequestParam(required = false) String since,
+                                              @RequestParam(required = false) Integer limit) {
+        return employeeService.getEmployeeChanges(since, limit);
+    }
+
+    // GET /api/v1/employees?ids=1,2,3 - employees in request order plus the ids that were not found
+    @GetMapping(params = "ids")
+    public EmployeeLookupResult getEmployeesByIds(@RequestParam List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    // same lookup for id lists too long to fit in a query string
+    @PostMapping("/lookup")
+    public EmployeeLookupResult lookupEmployees(@RequestBody List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    // The ETag is the employee's @Version, read from the employee itself rather than by a version-only query first:
+    // once the employee is in the second-level cache a 304 costs no query at all, while a version query would cost
+    // one on every request (EmployeeConditionalGetIntegrationTests). Only a cache miss loads the row.
+    @GetMapping("/{id}")
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
+        if (employee.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        if (request.checkNotModified(String.valueOf(employee.get().getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(employee.get());
+    }
+
+
+    // If-Match must carry the ETag from GET /{id}, so an edit never silently overwrites one made in between:
+    // without it the answer is 428, with an outdated one 412. "*" updates whatever version is current.
+    @PutMapping("/{id}")
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody Employee employee) {
+        employee.setVersion(expectedVersion(id, ifMatch));
+        // an unknown id surfaces as ResourceNotFoundException, which GlobalExceptionHandler turns into a 404
         Employee updatedEmployee = employeeService.updateEmployee(id, employee);
-        return ResponseEntity.ok().body(updatedEmployee);
+        // the version the update wrote, also for "*", so the next edit can send it straight back
+        return ResponseEntity.ok().eTag(String.valueOf(updatedEmployee.getVersion())).body(updatedEmployee);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long id) {
-        if(employeeService.getEmployeeById(id).isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
         employeeService.deleteEmployeeById(id);
         return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
     }
+
+    // If-Match compares strongly, so a weak, malformed or listed tag can never match a version
+    static Long expectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("Updating employee " + id + " requires an If-Match header with its ETag");
+        }
+        String tag = ifMatch.strip();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException exception) {
+                // not an ETag this API hands out
+            }
+        }
+        throw new StaleVersionException("If-Match " + ifMatch + " does not match any version of employee " + id);
+    }
 }
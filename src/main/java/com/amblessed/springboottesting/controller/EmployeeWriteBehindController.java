@@ -0,0 +1,75 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeWriteStatus;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.service.EmployeeWriteBehindQueue;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+// Creates sent with "Prefer: respond-async" are queued and answered with 202 and a tracking id; without the
+// preference EmployeeController still writes them synchronously, as it does when write-behind is disabled.
+@RestController
+@RequestMapping("/api/v1/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.write-behind", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class EmployeeWriteBehindController {
+
+    static final String PREFER = "Prefer";
+    static final String RESPOND_ASYNC = "respond-async";
+
+    private EmployeeWriteBehindQueue employeeWriteBehindQueue;
+
+    private EmployeeService employeeService;
+
+    // Takes every create that states a preference: a header condition can only match the whole value, and
+    // "respond-async, wait=10" is as much a request for async handling as "respond-async" alone.
+    // A full queue surfaces as WriteQueueFullException (429), a stopping one as WriteQueueStoppedException (503).
+    @PostMapping(headers = PREFER)
+    public ResponseEntity<?> createEmployeeAsync(@RequestHeader(PREFER) List<String> preferences,
+                                                 @RequestBody Employee employee) {
+        if (!prefersRespondAsync(preferences)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+        }
+        EmployeeWriteStatus status = employeeWriteBehindQueue.submit(employee);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/employees/writes/{trackingId}")
+                .buildAndExpand(status.trackingId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/writes/{trackingId}")
+    public ResponseEntity<EmployeeWriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        return employeeWriteBehindQueue.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // RFC 7240: comma-separated preferences, each a token with an optional "=value" and ";parameters";
+    // tokens compare case-insensitively
+    static boolean prefersRespondAsync(List<String> preferences) {
+        return preferences.stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(preference -> preference.split("[=;]", 2)[0].strip())
+                .anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+    }
+}
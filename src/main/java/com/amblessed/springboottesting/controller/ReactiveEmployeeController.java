@@ -0,0 +1,121 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.service.ReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same routes and status codes as {@link EmployeeController}, served by WebFlux when
+ * {@code spring.main.web-application-type=reactive} (the "reactive" profile).
+ */
+@RestController
+@RequestMapping("/api/v1/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<EmployeeBatchResult>> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    // Without cursor or limit the whole table is written as a JSON array while rows are read; the encoder only
+    // requests more rows as the connection drains, so a slow client applies backpressure to the query.
+    // With either parameter the response is a single keyset page, as in EmployeeController.
+    // As there, the collection version is the ETag, and a matching If-None-Match is a 304 before any row is read.
+    @GetMapping
+    public Mono<ResponseEntity<Flux<Employee>>> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                ServerWebExchange exchange) {
+        return employeeService.getEmployeesVersion().flatMap(version -> {
+            if (exchange.checkNotModified(version)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).<Flux<Employee>>build());
+            }
+            if (cursor == null && limit == null) {
+                return Mono.just(ResponseEntity.ok().eTag(version).body(employeeService.getAllEmployees()));
+            }
+            return employeeService.getEmployeesPage(cursor, limit).map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(version);
+                if (page.hasNext()) {
+                    response.header(EmployeeController.NEXT_CURSOR_HEADER, page.nextCursor());
+                }
+                return response.body(Flux.fromIterable(page.employees()));
+            });
+        });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<EmployeeLookupResult> getEmployeesByIds(@RequestParam List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    @PostMapping("/lookup")
+    public Mono<EmployeeLookupResult> lookupEmployees(@RequestBody List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    // the employee's version is its ETag, as in EmployeeController
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable Long id, ServerWebExchange exchange) {
+        return employeeService.getEmployeeById(id)
+                .map(employee -> {
+                    String version = String.valueOf(employee.getVersion());
+                    if (exchange.checkNotModified(version)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).<Employee>build();
+                    }
+                    return ResponseEntity.ok().eTag(version).body(employee);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // the same If-Match rules as EmployeeController: 428 without it, 412 for an outdated one, "*" for any version
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody Employee employee) {
+        employee.setVersion(EmployeeController.expectedVersion(id, ifMatch));
+        // an unknown id surfaces as ResourceNotFoundException, which ReactiveExceptionHandler turns into a 404
+        return employeeService.updateEmployee(id, employee)
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(String.valueOf(updatedEmployee.getVersion())).body(updatedEmployee));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long id) {
+        return employeeService.deleteEmployeeById(id)
+                .thenReturn(new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK));
+    }
+}
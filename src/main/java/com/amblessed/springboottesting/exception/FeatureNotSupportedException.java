@@ -0,0 +1,18 @@
+package com.amblessed.springboottesting.exception;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+public class FeatureNotSupportedException extends RuntimeException {
+
+    public FeatureNotSupportedException(String message) {
+        super(message);
+    }
+
+}
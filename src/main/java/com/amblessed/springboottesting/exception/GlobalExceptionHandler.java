@@ -9,22 +9,40 @@ package com.amblessed.springboottesting.exception;
  */
 
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.net.URI;
-import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AllArgsConstructor
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler({MethodArgumentNotValidException.class, SQLIntegrityConstraintViolationException.class})
+    static final String ERROR_COUNTER = "employee.api.errors";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private MeterRegistry meterRegistry;
+
+    // Spring translates JDBC constraint violations into DataIntegrityViolationException; the raw SQL exception never reaches here
+    @ExceptionHandler({MethodArgumentNotValidException.class, DataIntegrityViolationException.class, InvalidRequestException.class})
     public ProblemDetail handleConstraintViolationException(Exception exception) {
         Map<String, Object> map = new HashMap<>();
         map.put("date", LocalDateTime.now().toString());
@@ -37,8 +55,9 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
-    @ExceptionHandler(ResourceAlreadyExistsException.class)
-    public ProblemDetail handleAlreadyExistException(Exception exception) {
+    @ExceptionHandler({ResourceAlreadyExistsException.class, DuplicateKeyException.class})
+    public ProblemDetail handleAlreadyExistException(Exception exception, HttpServletRequest request) {
+        countError(HttpStatus.CONFLICT, exception, request);
         Map<String, Object> map = new HashMap<>();
         map.put("date", LocalDateTime.now().toString());
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
@@ -52,7 +71,8 @@ public class GlobalExceptionHandler {
 
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ProblemDetail handleFacultyNotFoundException(ResourceNotFoundException exception) {
+    public ProblemDetail handleFacultyNotFoundException(ResourceNotFoundException exception, HttpServletRequest request) {
+        countError(HttpStatus.NOT_FOUND, exception, request);
         Map<String, Object> map = new HashMap<>();
         map.put("date", LocalDateTime.now().toString());
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
@@ -63,4 +83,111 @@ public class GlobalExceptionHandler {
         problemDetail.setProperties(map);
         return problemDetail;
     }
+
+    // the client's copy is out of date: it should GET the employee again and reapply its change
+    @ExceptionHandler(StaleVersionException.class)
+    public ProblemDetail handleStaleVersionException(StaleVersionException exception, HttpServletRequest request) {
+        countError(HttpStatus.PRECONDITION_FAILED, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.PRECONDITION_FAILED);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.PRECONDITION_FAILED.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ProblemDetail handlePreconditionRequiredException(PreconditionRequiredException exception, HttpServletRequest request) {
+        countError(HttpStatus.PRECONDITION_REQUIRED, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.PRECONDITION_REQUIRED);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.PRECONDITION_REQUIRED.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    // the endpoint exists, but the employee store in use cannot answer it (delta sync on the sharded store)
+    @ExceptionHandler(FeatureNotSupportedException.class)
+    public ProblemDetail handleFeatureNotSupportedException(FeatureNotSupportedException exception, HttpServletRequest request) {
+        countError(HttpStatus.NOT_IMPLEMENTED, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_IMPLEMENTED);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.NOT_IMPLEMENTED.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    // Retry-After tells a bulk importer when to resend instead of leaving it to hammer a full queue
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleWriteQueueFullException(WriteQueueFullException exception, HttpServletRequest request) {
+        countError(HttpStatus.TOO_MANY_REQUESTS, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problemDetail);
+    }
+
+    // the instance is shutting down: not the client's doing, and another instance can take the create
+    @ExceptionHandler(WriteQueueStoppedException.class)
+    public ResponseEntity<ProblemDetail> handleWriteQueueStoppedException(WriteQueueStoppedException exception, HttpServletRequest request) {
+        countError(HttpStatus.SERVICE_UNAVAILABLE, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problemDetail);
+    }
+
+    // a write that ran past maxWriteTime was rolled back whole (see EmployeeSyncProperties), so it is safe to resend
+    @ExceptionHandler(TransactionTimedOutException.class)
+    public ResponseEntity<ProblemDetail> handleTransactionTimedOutException(TransactionTimedOutException exception, HttpServletRequest request) {
+        countError(HttpStatus.SERVICE_UNAVAILABLE, exception, request);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problemDetail);
+    }
+
+    // tagged with the route template rather than the raw path so ids do not multiply the number of series
+    private void countError(HttpStatus status, Exception exception, HttpServletRequest request) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder(ERROR_COUNTER)
+                .description("Requests answered with an error status by GlobalExceptionHandler")
+                .tag("status", String.valueOf(status.value()))
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry)
+                .increment();
+    }
 }
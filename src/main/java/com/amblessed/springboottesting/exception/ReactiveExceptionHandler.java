@@ -0,0 +1,122 @@
+package com.amblessed.springboottesting.exception;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux twin of {@link GlobalExceptionHandler}: the same exceptions map to the same status codes and problem
+ * details, and errors are counted under the same meter, so clients cannot tell which stack answered.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveExceptionHandler {
+
+    private MeterRegistry meterRegistry;
+
+    @ExceptionHandler({WebExchangeBindException.class, DataIntegrityViolationException.class, InvalidRequestException.class})
+    public ProblemDetail handleConstraintViolationException(Exception exception) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    @ExceptionHandler({ResourceAlreadyExistsException.class, DuplicateKeyException.class})
+    public ProblemDetail handleAlreadyExistException(Exception exception, ServerWebExchange exchange) {
+        countError(HttpStatus.CONFLICT, exception, exchange);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.CONFLICT.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleNotFoundException(ResourceNotFoundException exception, ServerWebExchange exchange) {
+        countError(HttpStatus.NOT_FOUND, exception, exchange);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.NOT_FOUND.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    // the client's copy is out of date: it should GET the employee again and reapply its change
+    @ExceptionHandler(StaleVersionException.class)
+    public ProblemDetail handleStaleVersionException(StaleVersionException exception, ServerWebExchange exchange) {
+        countError(HttpStatus.PRECONDITION_FAILED, exception, exchange);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.PRECONDITION_FAILED);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.PRECONDITION_FAILED.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ProblemDetail handlePreconditionRequiredException(PreconditionRequiredException exception, ServerWebExchange exchange) {
+        countError(HttpStatus.PRECONDITION_REQUIRED, exception, exchange);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDateTime.now().toString());
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.PRECONDITION_REQUIRED);
+        problemDetail.setType(URI.create("http://localhost:8080/api/v1/common-errors"));
+        problemDetail.setTitle(HttpStatus.PRECONDITION_REQUIRED.getReasonPhrase());
+        problemDetail.setDetail(exception.getMessage());
+        problemDetail.setInstance(problemDetail.getInstance());
+        problemDetail.setProperties(map);
+        return problemDetail;
+    }
+
+    private void countError(HttpStatus status, Exception exception, ServerWebExchange exchange) {
+        Object uri = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder(GlobalExceptionHandler.ERROR_COUNTER)
+                .description("Requests answered with an error status by GlobalExceptionHandler")
+                .tag("status", String.valueOf(status.value()))
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry)
+                .increment();
+    }
+}
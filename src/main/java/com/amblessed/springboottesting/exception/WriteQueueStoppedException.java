@@ -0,0 +1,18 @@
+package com.amblessed.springboottesting.exception;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+public class WriteQueueStoppedException extends RuntimeException {
+
+    public WriteQueueStoppedException(String message) {
+        super(message);
+    }
+
+}
@@ -9,8 +9,15 @@ package com.amblessed.springboottesting.model;
  */
 
 
+import com.amblessed.springboottesting.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.time.Instant;
 
 @Getter
 @Setter
@@ -19,10 +26,16 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "tbl_employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EMPLOYEE_REGION)
+@NaturalIdCache(region = HibernateCacheConfig.EMPLOYEE_NATURAL_ID_REGION)
 public class Employee {
 
+    // pooled sequence instead of IDENTITY: ids are handed out in blocks of 50 without a round trip per row,
+    // which lets Hibernate group inserts into JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_sequence")
+    @SequenceGenerator(name = "employee_sequence", sequenceName = "tbl_employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -31,9 +44,28 @@ public class Employee {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    // employees may change their email, hence a mutable natural id
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    // assigned by the database on every insert and update (see V4__add_tbl_employees_change_version.sql), so an
+    // entity Hibernate has just inserted carries neither until it is loaded again
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
+    @Column(name = "last_modified", insertable = false, updatable = false)
+    private Instant lastModified;
+
+    // null until the employee is persisted, which is how Spring Data tells a new employee apart
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public Employee(Long id, String firstName, String lastName, String email) {
+        this(id, firstName, lastName, email, null, null, null);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,35 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+/**
+ * Outcome of one item of a batch create, reported at the position it had in the request.
+ */
+public record EmployeeBatchResult(int index, Status status, Employee employee, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static EmployeeBatchResult created(int index, Employee employee) {
+        return new EmployeeBatchResult(index, Status.CREATED, employee, null);
+    }
+
+    public static EmployeeBatchResult duplicate(int index, Employee employee) {
+        return new EmployeeBatchResult(index, Status.DUPLICATE, employee,
+                "Employee with given email: " + employee.getEmail() + " already exists");
+    }
+
+    public static EmployeeBatchResult invalid(int index, Employee employee, String message) {
+        return new EmployeeBatchResult(index, Status.INVALID, employee, message);
+    }
+}
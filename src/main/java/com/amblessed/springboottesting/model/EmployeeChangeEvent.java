@@ -0,0 +1,28 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import java.time.Instant;
+
+/**
+ * One committed change of an employee, as recorded in the outbox. {@code sequence} is the outbox id: changes of the
+ * same employee have increasing sequences in the order they were committed. {@code publishedSequence} is the change's
+ * place in the order the relay delivers changes, across all employees; it is null until the relay picks the change
+ * up. A {@code DELETED} change carries no employee details.
+ */
+public record EmployeeChangeEvent(long sequence, Long publishedSequence, Type type, long employeeId, Employee employee,
+                                  Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,20 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import java.util.List;
+
+/**
+ * The employees created or updated and the employees deleted since a sync token, oldest change first.
+ * {@code nextToken} is passed back as {@code since} on the next sync; {@code hasMore} says whether further
+ * changes are waiting right away.
+ */
+public record EmployeeChanges(List<Employee> changed, List<EmployeeTombstone> deleted, String nextToken, boolean hasMore) {
+}
@@ -0,0 +1,19 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import java.util.List;
+
+/**
+ * Result of fetching several employees by id: the employees found, in the order their ids were requested,
+ * and the requested ids that do not exist.
+ */
+public record EmployeeLookupResult(List<Employee> employees, List<Long> missingIds) {
+}
@@ -0,0 +1,23 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import java.util.List;
+
+/**
+ * One page of a keyset scan over employees. {@code nextCursor} is an opaque token to pass back
+ * for the following page, or {@code null} when this was the last page.
+ */
+public record EmployeePage(List<Employee> employees, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.amblessed.springboottesting.model;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+/**
+ * Where a write-behind create stands. The employee carries its id once the state is {@code CREATED}.
+ */
+public record EmployeeWriteStatus(String trackingId, State state, Employee employee, String message) {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static EmployeeWriteStatus queued(String trackingId, Employee employee) {
+        return new EmployeeWriteStatus(trackingId, State.QUEUED, employee, null);
+    }
+
+    public static EmployeeWriteStatus of(String trackingId, EmployeeBatchResult result) {
+        State state = switch (result.status()) {
+            case CREATED -> State.CREATED;
+            case DUPLICATE -> State.DUPLICATE;
+            case INVALID -> State.INVALID;
+        };
+        return new EmployeeWriteStatus(trackingId, state, result.employee(), result.message());
+    }
+
+    public static EmployeeWriteStatus failed(String trackingId, Employee employee, String message) {
+        return new EmployeeWriteStatus(trackingId, State.FAILED, employee, message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * tbl_employee_collection_version, the version of the employee list as a whole. Both statements run through the
+ * caller's {@link EntityManager}, so they are part of its transaction, and name the table as their only query
+ * space, so Hibernate neither flushes nor evicts any employee state for them.
+ */
+@Repository
+@AllArgsConstructor
+public class EmployeeCollectionVersionRepository {
+
+    private static final String TABLE = "tbl_employee_collection_version";
+
+    private EntityManager entityManager;
+
+    public long find() {
+        return ((Number) entityManager.createNativeQuery("SELECT version FROM " + TABLE + " WHERE id = 1")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE)
+                .getSingleResult()).longValue();
+    }
+
+    // the row stays locked until the caller commits, so run it as the transaction's last statement
+    public void increment() {
+        entityManager.createNativeQuery("UPDATE " + TABLE + " SET version = version + 1 WHERE id = 1")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE)
+                .executeUpdate();
+    }
+}
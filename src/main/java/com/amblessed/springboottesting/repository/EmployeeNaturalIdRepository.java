@@ -0,0 +1,22 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the {@code email} natural id, answered from the natural-id cache when possible.
+ */
+public interface EmployeeNaturalIdRepository {
+
+    Optional<Employee> findByEmail(String email);
+}
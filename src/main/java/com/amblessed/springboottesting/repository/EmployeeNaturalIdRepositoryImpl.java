@@ -0,0 +1,34 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // a derived "WHERE email = ?" query always goes to the database; loading by natural id resolves
+    // email -> id from the natural-id cache and the entity from the second-level cache
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Employee> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(email);
+    }
+}
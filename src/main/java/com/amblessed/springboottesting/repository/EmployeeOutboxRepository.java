@@ -0,0 +1,129 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * tbl_employee_outbox: changes are appended through the caller's {@link EntityManager}, so they are part of the
+ * transaction that makes the change and are flushed after it; the relay reads and marks them over plain JDBC.
+ */
+@Repository
+@AllArgsConstructor
+public class EmployeeOutboxRepository {
+
+    // rows per multi-row INSERT, the same as the employee insert batches
+    static final int APPEND_CHUNK_SIZE = 50;
+    private static final String TABLE = "tbl_employee_outbox";
+    private static final String COLUMNS = "id, employee_id, change_type, first_name, last_name, email, occurred_at";
+    private static final String SELECT_COLUMNS = COLUMNS + ", published_seq";
+    private static final RowMapper<EmployeeChangeEvent> EVENT_ROW_MAPPER = (resultSet, rowNum) -> {
+        EmployeeChangeEvent.Type type = EmployeeChangeEvent.Type.valueOf(resultSet.getString("change_type"));
+        long employeeId = resultSet.getLong("employee_id");
+        Employee employee = type == EmployeeChangeEvent.Type.DELETED ? null : new Employee(employeeId,
+                resultSet.getString("first_name"), resultSet.getString("last_name"), resultSet.getString("email"));
+        return new EmployeeChangeEvent(resultSet.getLong("id"), resultSet.getObject("published_seq", Long.class), type,
+                employeeId, employee, resultSet.getTimestamp("occurred_at").toInstant());
+    };
+
+    private EntityManager entityManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    public void append(EmployeeChangeEvent.Type type, Employee employee) {
+        appendAll(type, List.of(employee));
+    }
+
+    // one multi-row INSERT per chunk; each row takes its id from the sequence as the statement runs
+    public void appendAll(EmployeeChangeEvent.Type type, List<Employee> employees) {
+        for (int from = 0; from < employees.size(); from += APPEND_CHUNK_SIZE) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + APPEND_CHUNK_SIZE, employees.size()));
+            StringBuilder sql = new StringBuilder("INSERT INTO tbl_employee_outbox (" + COLUMNS + ") VALUES ");
+            for (int row = 0; row < chunk.size(); row++) {
+                int first = row * 4 + 1;
+                sql.append(row == 0 ? "" : ", ")
+                        .append("(NEXT VALUE FOR tbl_employee_outbox_seq, ?").append(first)
+                        .append(", '").append(type.name()).append("', ?").append(first + 1)
+                        .append(", ?").append(first + 2).append(", ?").append(first + 3)
+                        .append(", CURRENT_TIMESTAMP)");
+            }
+            // without a declared query space Hibernate would evict every second-level cache region after the INSERT
+            Query insert = entityManager.createNativeQuery(sql.toString())
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE);
+            for (int row = 0; row < chunk.size(); row++) {
+                Employee employee = chunk.get(row);
+                int first = row * 4 + 1;
+                insert.setParameter(first, employee.getId());
+                insert.setParameter(first + 1, employee.getFirstName());
+                insert.setParameter(first + 2, employee.getLastName());
+                insert.setParameter(first + 3, employee.getEmail());
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    // changes numbered by an earlier, failed delivery come first, so a batch is always delivered in published order
+    public List<EmployeeChangeEvent> findUnpublished(int limit) {
+        return jdbcTemplate.query("SELECT " + SELECT_COLUMNS + " FROM tbl_employee_outbox WHERE published_at IS NULL "
+                        + "ORDER BY published_seq NULLS LAST, id LIMIT ?",
+                EVENT_ROW_MAPPER, limit);
+    }
+
+    // numbers the batch's changes that have none yet in batch order; a redelivered change keeps its number
+    public List<EmployeeChangeEvent> assignPublishedSequences(List<EmployeeChangeEvent> batch) {
+        List<EmployeeChangeEvent> unnumbered = batch.stream().filter(event -> event.publishedSequence() == null).toList();
+        if (unnumbered.isEmpty()) {
+            return batch;
+        }
+        List<Long> sequences = jdbcTemplate.queryForList("SELECT NEXT VALUE FOR tbl_employee_outbox_published_seq FROM SYSTEM_RANGE(1, ?)",
+                Long.class, unnumbered.size()).stream().sorted().toList();
+        jdbcTemplate.batchUpdate("UPDATE tbl_employee_outbox SET published_seq = ? WHERE id = ?",
+                IntStream.range(0, unnumbered.size())
+                        .mapToObj(index -> new Object[]{sequences.get(index), unnumbered.get(index).sequence()})
+                        .toList());
+        Iterator<Long> next = sequences.iterator();
+        return batch.stream()
+                .map(event -> event.publishedSequence() != null ? event : new EmployeeChangeEvent(event.sequence(), next.next(),
+                        event.type(), event.employeeId(), event.employee(), event.occurredAt()))
+                .toList();
+    }
+
+    // what a resuming stream client missed: every change numbered after the last one it received, including those
+    // the relay is delivering right now, which the client may then get twice
+    public List<EmployeeChangeEvent> findPublishedAfter(long publishedSequence, int limit) {
+        return jdbcTemplate.query("SELECT " + SELECT_COLUMNS + " FROM tbl_employee_outbox WHERE published_seq > ? ORDER BY published_seq LIMIT ?",
+                EVENT_ROW_MAPPER, publishedSequence, limit);
+    }
+
+    public int markPublished(Collection<Long> ids) {
+        String placeholders = String.join(", ", ids.stream().map(id -> "?").toList());
+        return jdbcTemplate.update("UPDATE tbl_employee_outbox SET published_at = CURRENT_TIMESTAMP WHERE id IN (" + placeholders + ")",
+                ids.toArray());
+    }
+
+    public int deletePublishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM tbl_employee_outbox WHERE published_at < ?", Timestamp.from(cutoff));
+    }
+}
@@ -10,15 +10,43 @@ package com.amblessed.springboottesting.repository;
 
 
 import com.amblessed.springboottesting.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeNaturalIdRepository, EmployeeWriteRepository {
 
-    Optional<Employee> findByEmail(String email);
+    // duplicate check for batch creates: one IN query returning only the emails that are already taken
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // keyset pagination: seeks past the last seen id through the primary key index instead of skipping OFFSET rows
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // cursor-backed scan for exports: rows are pulled from the driver in fetch-size chunks instead of one big list,
+    // and the caller must consume the stream inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAllByOrderByIdAsc();
+
+    // delta sync: seeks past the last synced version through idx_tbl_employees_change_version
+    List<Employee> findByChangeVersionGreaterThanOrderByChangeVersionAsc(Long changeVersion, Limit limit);
+
+    // delta sync compares last_modified against the clock that wrote it rather than the application's
+    @Query(value = "SELECT CURRENT_TIMESTAMP", nativeQuery = true)
+    Instant findDatabaseTime();
 
     //JPQL Query uses the entity name and its properties to fetch data
 
@@ -0,0 +1,128 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Where each employee lives in the sharded store.
+ * <p>
+ * An email hashes to one of {@link #BUCKETS} fixed buckets and every bucket is assigned to a shard. Ids carry their
+ * bucket in the low bits, {@code id = local << 16 | originShard << 10 | bucket}, so a lookup by id reads one shard
+ * and ids stay valid when a bucket moves; the origin shard keeps ids unique because every shard numbers rows from its
+ * own sequence. The assignment is stored in tbl_employee_buckets on shard 0 so it survives restarts and rebalancing.
+ */
+public class EmployeeShardMap {
+
+    public static final int BUCKETS = 1024;
+    static final int MAX_SHARDS = 64;
+    private static final int BUCKET_BITS = 10;
+    private static final int SHARD_BITS = 6;
+
+    private final JdbcTemplate catalog;
+    private final int shardCount;
+    private final AtomicIntegerArray shardByBucket = new AtomicIntegerArray(BUCKETS);
+    // writers share a bucket's lock, a bucket move takes it exclusively so no write lands on the old shard mid-move
+    private final ReadWriteLock[] bucketLocks = new ReadWriteLock[BUCKETS];
+
+    public EmployeeShardMap(JdbcTemplate catalog, int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SHARDS + " shards are supported, got " + shardCount);
+        }
+        this.catalog = catalog;
+        this.shardCount = shardCount;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bucketLocks[bucket] = new ReentrantReadWriteLock();
+        }
+        load();
+    }
+
+    public static int bucketOf(String email) {
+        int hash = email.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), BUCKETS);
+    }
+
+    public static int bucketOf(long id) {
+        return (int) (id & (BUCKETS - 1));
+    }
+
+    static long encodeId(long local, int originShard, int bucket) {
+        return local << (BUCKET_BITS + SHARD_BITS) | (long) originShard << BUCKET_BITS | bucket;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(int bucket) {
+        return shardByBucket.get(bucket);
+    }
+
+    public List<Integer> bucketsOf(int shard) {
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (shardByBucket.get(bucket) == shard) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    // SQL condition for the rows in the shard's buckets, given the expression that computes a row's bucket; the
+    // bucket numbers are ints and inlined
+    String ownedBy(int shard, String bucketExpression) {
+        List<Integer> buckets = bucketsOf(shard);
+        if (buckets.size() == BUCKETS) {
+            return "TRUE";
+        }
+        if (buckets.isEmpty()) {
+            return "FALSE";
+        }
+        return bucketExpression + " IN (" + String.join(", ", buckets.stream().map(String::valueOf).toList()) + ")";
+    }
+
+    ReadWriteLock lockOf(int bucket) {
+        return bucketLocks[bucket];
+    }
+
+    // called by the rebalancer with the bucket's write lock held, after the rows have been copied
+    void assign(int bucket, int shard) {
+        catalog.update("UPDATE tbl_employee_buckets SET shard = ? WHERE bucket = ?", shard, bucket);
+        shardByBucket.set(bucket, shard);
+    }
+
+    // a new cluster spreads the buckets evenly; an existing catalog must not point at shards that are not configured
+    private void load() {
+        List<int[]> rows = catalog.query("SELECT bucket, shard FROM tbl_employee_buckets",
+                (resultSet, rowNum) -> new int[]{resultSet.getInt(1), resultSet.getInt(2)});
+        if (rows.isEmpty()) {
+            List<Object[]> initial = new ArrayList<>(BUCKETS);
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                initial.add(new Object[]{bucket, bucket % shardCount});
+                shardByBucket.set(bucket, bucket % shardCount);
+            }
+            catalog.batchUpdate("INSERT INTO tbl_employee_buckets (bucket, shard) VALUES (?, ?)", initial);
+            return;
+        }
+        for (int[] row : rows) {
+            if (row[1] >= shardCount) {
+                throw new IllegalStateException("Bucket " + row[0] + " is assigned to shard " + row[1]
+                        + " but only " + shardCount + " shards are configured");
+            }
+            shardByBucket.set(row[0], row[1]);
+        }
+    }
+}
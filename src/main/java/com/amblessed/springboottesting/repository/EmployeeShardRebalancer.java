@@ -0,0 +1,187 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves buckets between shards, one bucket at a time, so that each shard owns an equal share.
+ * <p>
+ * Resharding means adding the new, empty databases to {@code employee.sharding.shards} and running {@link #rebalance}:
+ * only the buckets needed to even out the shares move, and ids do not change because they encode the bucket, not
+ * the shard. Writes to a bucket wait while it moves; reads keep going to the old shard until the catalog switches.
+ * A bucket's rows move with all their columns, together with its tombstones and the email claims in the bucket.
+ */
+public class EmployeeShardRebalancer {
+
+    private static final BucketTable EMPLOYEES = new BucketTable("tbl_employees", "MOD(id, " + EmployeeShardMap.BUCKETS + ")");
+    private static final List<BucketTable> TABLES = List.of(
+            EMPLOYEES,
+            new BucketTable("tbl_employee_tombstones", "MOD(employee_id, " + EmployeeShardMap.BUCKETS + ")"),
+            // a claim belongs to the bucket of its email, not to that of the employee holding it
+            new BucketTable("tbl_employee_emails", "bucket"));
+
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final EmployeeShardMap shardMap;
+    // a move and the clean-up must not overlap: rows copied to the target are not its own until the catalog switches
+    private final ReentrantLock moves = new ReentrantLock();
+
+    public EmployeeShardRebalancer(List<JdbcTemplate> shards, EmployeeShardMap shardMap) {
+        this.shards = List.copyOf(shards);
+        this.transactions = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard.getDataSource())))
+                .toList();
+        this.shardMap = shardMap;
+    }
+
+    /**
+     * @return the number of buckets moved
+     */
+    public int rebalance() {
+        int shardCount = shardMap.shardCount();
+        List<Deque<Integer>> bucketsByShard = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            bucketsByShard.add(new ArrayDeque<>(shardMap.bucketsOf(shard)));
+        }
+        int moved = 0;
+        for (int target = 0; target < shardCount; target++) {
+            while (bucketsByShard.get(target).size() < fairShare(target, shardCount)) {
+                int source = mostLoaded(bucketsByShard, shardCount);
+                int bucket = bucketsByShard.get(source).removeLast();
+                moveBucket(bucket, target);
+                bucketsByShard.get(target).add(bucket);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Copies the bucket's rows, tombstones and email claims to {@code target} in one transaction, points the catalog
+     * at it and deletes them from the old shard.
+     * <p>
+     * Until the catalog switches the copies are leftovers on a shard that does not own the bucket, and after it the
+     * originals are; readers skip both, as every shard is only asked for the buckets it owns. A move that failed
+     * before the switch can simply be run again, as the copy replaces whatever an earlier attempt left on the target.
+     * Originals that outlive a failed delete are removed by {@link #deleteUnownedRows}.
+     *
+     * @return the number of employees moved
+     */
+    public int moveBucket(int bucket, int target) {
+        moves.lock();
+        Lock lock = shardMap.lockOf(bucket).writeLock();
+        lock.lock();
+        try {
+            int source = shardMap.shardOf(bucket);
+            if (source == target) {
+                return 0;
+            }
+            Integer moved = transactions.get(target).execute(status -> {
+                int employees = 0;
+                for (BucketTable table : TABLES) {
+                    shards.get(target).update("DELETE FROM " + table.name() + " WHERE " + table.bucket() + " = ?", bucket);
+                    int rows = copy(table, bucket, source, target);
+                    employees += table == EMPLOYEES ? rows : 0;
+                }
+                return employees;
+            });
+            shardMap.assign(bucket, target);
+            transactions.get(source).executeWithoutResult(status -> TABLES.forEach(table ->
+                    shards.get(source).update("DELETE FROM " + table.name() + " WHERE " + table.bucket() + " = ?", bucket)));
+            return moved == null ? 0 : moved;
+        } finally {
+            lock.unlock();
+            moves.unlock();
+        }
+    }
+
+    /**
+     * Deletes, on every shard, the rows, tombstones and email claims of buckets the shard does not own: what a move
+     * interrupted by a failure or a crash left behind. Run at startup; nothing reads those rows in the meantime.
+     *
+     * @return the number of employees deleted
+     */
+    public int deleteUnownedRows() {
+        moves.lock();
+        try {
+            int deleted = 0;
+            for (int shard = 0; shard < shards.size(); shard++) {
+                JdbcTemplate database = shards.get(shard);
+                for (BucketTable table : TABLES) {
+                    int rows = database.update("DELETE FROM " + table.name() + " WHERE NOT (" + shardMap.ownedBy(shard, table.bucket()) + ")");
+                    deleted += table == EMPLOYEES ? rows : 0;
+                }
+            }
+            return deleted;
+        } finally {
+            moves.unlock();
+        }
+    }
+
+    // copies every column the table has, so a moved row keeps its version, change_version and last_modified
+    private int copy(BucketTable table, int bucket, int source, int target) {
+        List<String> columns = new ArrayList<>();
+        ResultSetExtractor<List<Object[]>> extractor = resultSet -> {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                columns.add(metaData.getColumnName(column));
+            }
+            List<Object[]> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                Object[] row = new Object[columns.size()];
+                for (int column = 0; column < row.length; column++) {
+                    row[column] = resultSet.getObject(column + 1);
+                }
+                rows.add(row);
+            }
+            return rows;
+        };
+        List<Object[]> rows = shards.get(source).query("SELECT * FROM " + table.name() + " WHERE " + table.bucket() + " = ?", extractor, bucket);
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", columns.stream().map(column -> "?").toList());
+        shards.get(target).batchUpdate("INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders + ")", rows);
+        return rows.size();
+    }
+
+    // the first BUCKETS % shardCount shards own one bucket more than the others
+    private static int fairShare(int shard, int shardCount) {
+        return EmployeeShardMap.BUCKETS / shardCount + (shard < EmployeeShardMap.BUCKETS % shardCount ? 1 : 0);
+    }
+
+    private static int mostLoaded(List<Deque<Integer>> bucketsByShard, int shardCount) {
+        int mostLoaded = 0;
+        for (int shard = 1; shard < shardCount; shard++) {
+            if (bucketsByShard.get(shard).size() - fairShare(shard, shardCount)
+                    > bucketsByShard.get(mostLoaded).size() - fairShare(mostLoaded, shardCount)) {
+                mostLoaded = shard;
+            }
+        }
+        return mostLoaded;
+    }
+
+    // bucket is the SQL expression that computes a row's bucket
+    private record BucketTable(String name, String bucket) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * The shard databases of the sharded employee store, indexed by shard number.
+ */
+public record EmployeeShards(List<JdbcTemplate> databases) {
+
+    public EmployeeShards {
+        databases = List.copyOf(databases);
+    }
+}
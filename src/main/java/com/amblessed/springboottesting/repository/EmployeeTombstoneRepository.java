@@ -0,0 +1,22 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.EmployeeTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+// tombstones are written by EmployeeRepository.deleteEmployeeById in the transaction of the delete itself
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    List<EmployeeTombstone> findByChangeVersionGreaterThanOrderByChangeVersionAsc(Long changeVersion, Limit limit);
+}
@@ -0,0 +1,30 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+
+import java.util.Optional;
+
+/**
+ * Single-row writes that evict only the employee they change from the second-level and natural-id caches.
+ * An update returns the employee as it now stands, including its new version, change version and last-modified
+ * time, or nothing for a missing id; a delete returns the affected-row count. Neither needs a SELECT beforehand.
+ */
+public interface EmployeeWriteRepository {
+
+    Optional<Employee> updateEmployeeById(Long id, String firstName, String lastName, String email);
+
+    // optimistic update: matches nothing once someone else has bumped the version, without locking the row beforehand
+    Optional<Employee> updateEmployeeByIdAndVersion(Long id, Long version, String firstName, String lastName, String email);
+
+    // also writes the employee's tombstone for delta sync, in the same transaction
+    int deleteEmployeeById(Long id);
+}
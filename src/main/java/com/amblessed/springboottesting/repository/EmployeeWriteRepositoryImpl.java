@@ -0,0 +1,132 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// A JPQL UPDATE or a native DELETE makes Hibernate evict the whole Employee region and the whole natural-id region,
+// so every write would empty the cache for all readers. These statements read the row's previous email through an
+// H2 data change delta table instead (SELECT ... FROM OLD TABLE (UPDATE ...)), which Hibernate treats as a plain
+// query, and evict just that id and that email: once now and once more after commit, so an entry a concurrent
+// reader put back from the pre-commit row does not outlive the transaction. An update also reads the row's new
+// version, change_version and last_modified in the same statement: CURRENT VALUE FOR is the value this session's
+// UPDATE drew, and CURRENT_TIMESTAMP is the transaction's start, the value the update wrote to last_modified.
+class EmployeeWriteRepositoryImpl implements EmployeeWriteRepository {
+
+    private static final String UPDATE = "SELECT email AS previous_email, version + 1 AS version, "
+            + "CURRENT VALUE FOR tbl_employees_change_seq AS change_version, CURRENT_TIMESTAMP AS last_modified "
+            + "FROM OLD TABLE (UPDATE tbl_employees "
+            + "SET first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 WHERE id = :id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Employee> updateEmployeeById(Long id, String firstName, String lastName, String email) {
+        return update(UPDATE + ")", id, null, firstName, lastName, email);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Employee> updateEmployeeByIdAndVersion(Long id, Long version, String firstName, String lastName, String email) {
+        return update(UPDATE + " AND version = :version)", id, version, firstName, lastName, email);
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeeById(Long id) {
+        Session session = flushedSession();
+        List<String> previousEmails = session.createNativeQuery("SELECT email FROM OLD TABLE (DELETE FROM tbl_employees WHERE id = :id)", String.class)
+                .setParameter("id", id, Long.class)
+                .getResultList();
+        if (!previousEmails.isEmpty()) {
+            // the tombstone table is not cached, so naming it as the only query space evicts nothing
+            entityManager.createNativeQuery("INSERT INTO tbl_employee_tombstones (employee_id) VALUES (:id)")
+                    .setParameter("id", id)
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, "tbl_employee_tombstones")
+                    .executeUpdate();
+        }
+        evict(id, previousEmails);
+        return previousEmails.size();
+    }
+
+    private Optional<Employee> update(String sql, Long id, Long version, String firstName, String lastName, String email) {
+        NativeQuery<Object[]> update = flushedSession().createNativeQuery(sql, Object[].class)
+                .addScalar("previous_email", StandardBasicTypes.STRING)
+                .addScalar("version", StandardBasicTypes.LONG)
+                .addScalar("change_version", StandardBasicTypes.LONG)
+                .addScalar("last_modified", StandardBasicTypes.INSTANT)
+                .setParameter("id", id, Long.class)
+                .setParameter("firstName", firstName, String.class)
+                .setParameter("lastName", lastName, String.class)
+                .setParameter("email", email, String.class);
+        if (version != null) {
+            update.setParameter("version", version, Long.class);
+        }
+        List<Object[]> rows = update.getResultList();
+        evict(id, rows.stream().map(row -> (String) row[0]).toList());
+        return rows.stream()
+                .map(row -> new Employee(id, firstName, lastName, email, (Long) row[2], (Instant) row[3], (Long) row[1]))
+                .findFirst();
+    }
+
+    // pending changes go out before the statement, as @Modifying(flushAutomatically = true) did
+    private Session flushedSession() {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        return session;
+    }
+
+    private void evict(Long id, List<String> previousEmails) {
+        if (previousEmails.isEmpty()) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Employee.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        // keys are built now, while the session is open; the eviction after commit runs without one
+        List<Object> naturalIdKeys = naturalIds == null ? List.of()
+                : previousEmails.stream().map(email -> naturalIds.generateCacheKey(email, persister, session)).toList();
+        Runnable eviction = () -> {
+            sessionFactory.getCache().evictEntityData(Employee.class, id);
+            naturalIdKeys.forEach(key -> naturalIds.evict(key));
+        };
+        // the managed copy, if any, still holds the old state
+        entityManager.clear();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository} over the same tbl_employees table, written against
+ * {@link DatabaseClient} so the JPA entity can be shared without a second mapping.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveEmployeeRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version, change_version, last_modified";
+
+    private DatabaseClient databaseClient;
+
+    // ids come from the sequence Hibernate allocates from; its pooled optimizer only uses the block of 50 ending
+    // at a value it fetched itself, so a value fetched here is never handed out twice and both stacks can insert.
+    // The row comes back from the INSERT itself, with the version, change_version and last_modified it was given
+    public Mono<Employee> insert(Employee employee) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR tbl_employees_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("SELECT " + COLUMNS + " FROM FINAL TABLE ("
+                                + "INSERT INTO tbl_employees (id, first_name, last_name, email) VALUES (:id, :firstName, :lastName, :email))")
+                        .bind("id", id)
+                        .bind("firstName", Parameter.fromOrEmpty(employee.getFirstName(), String.class))
+                        .bind("lastName", Parameter.fromOrEmpty(employee.getLastName(), String.class))
+                        .bind("email", Parameter.fromOrEmpty(employee.getEmail(), String.class))
+                        .map(ReactiveEmployeeRepository::toEmployee)
+                        .one());
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tbl_employees WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    // rows are emitted as the subscriber requests them, so a slow client holds back the read instead of buffering the table
+    public Flux<Employee> findAllOrderById() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tbl_employees ORDER BY id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // keyset pagination, same seek as EmployeeRepository.findByIdGreaterThanOrderByIdAsc
+    public Flux<Employee> findByIdGreaterThanOrderByIdAsc(long id, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tbl_employees WHERE id > :id ORDER BY id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findAllById(Collection<Long> ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tbl_employees WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("SELECT email FROM tbl_employees WHERE email IN (:emails)")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    // the employee as it now stands, read from the UPDATE itself; empty for a missing id or, when a version is
+    // given, for a version that is no longer current
+    public Mono<Employee> updateEmployeeById(Long id, Long version, String firstName, String lastName, String email) {
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql("SELECT " + COLUMNS + " FROM FINAL TABLE (UPDATE tbl_employees "
+                        + "SET first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 WHERE id = :id"
+                        + (version == null ? ")" : " AND version = :version)"))
+                .bind("id", id)
+                .bind("firstName", Parameter.fromOrEmpty(firstName, String.class))
+                .bind("lastName", Parameter.fromOrEmpty(lastName, String.class))
+                .bind("email", Parameter.fromOrEmpty(email, String.class));
+        if (version != null) {
+            update = update.bind("version", version);
+        }
+        return update.map(ReactiveEmployeeRepository::toEmployee).one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM tbl_employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .one()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Long> deleteEmployeeById(Long id) {
+        // writes the tombstone in the same statement; there is no second-level cache to evict on this stack
+        return databaseClient.sql("INSERT INTO tbl_employee_tombstones (employee_id) SELECT id FROM OLD TABLE (DELETE FROM tbl_employees WHERE id = :id)")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> findCollectionVersion() {
+        return databaseClient.sql("SELECT version FROM tbl_employee_collection_version WHERE id = 1")
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // every write ends with this in its transaction, as EmployeeServiceImpl does with EmployeeCollectionVersionRepository
+    public Mono<Long> incrementCollectionVersion() {
+        return databaseClient.sql("UPDATE tbl_employee_collection_version SET version = version + 1 WHERE id = 1")
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // the same rows EmployeeOutboxRepository.appendAll writes, so the relay cannot tell the two stacks apart;
+    // called inside the write's transaction
+    public Mono<Void> appendChanges(EmployeeChangeEvent.Type type, List<Employee> employees) {
+        return Flux.fromIterable(employees)
+                .buffer(EmployeeOutboxRepository.APPEND_CHUNK_SIZE)
+                .concatMap(chunk -> {
+                    StringBuilder sql = new StringBuilder("INSERT INTO tbl_employee_outbox "
+                            + "(id, employee_id, change_type, first_name, last_name, email, occurred_at) VALUES ");
+                    for (int row = 0; row < chunk.size(); row++) {
+                        sql.append(row == 0 ? "" : ", ")
+                                .append("(NEXT VALUE FOR tbl_employee_outbox_seq, :id").append(row)
+                                .append(", '").append(type.name()).append("', :firstName").append(row)
+                                .append(", :lastName").append(row).append(", :email").append(row)
+                                .append(", CURRENT_TIMESTAMP)");
+                    }
+                    DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(sql.toString());
+                    for (int row = 0; row < chunk.size(); row++) {
+                        Employee employee = chunk.get(row);
+                        insert = insert.bind("id" + row, employee.getId())
+                                .bind("firstName" + row, Parameter.fromOrEmpty(employee.getFirstName(), String.class))
+                                .bind("lastName" + row, Parameter.fromOrEmpty(employee.getLastName(), String.class))
+                                .bind("email" + row, Parameter.fromOrEmpty(employee.getEmail(), String.class));
+                    }
+                    return insert.fetch().rowsUpdated();
+                })
+                .then();
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return new Employee(row.get("id", Long.class), row.get("first_name", String.class),
+                row.get("last_name", String.class), row.get("email", String.class), row.get("change_version", Long.class),
+                row.get("last_modified", OffsetDateTime.class).toInstant(), row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,427 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * The operations of {@link EmployeeRepository} over tbl_employees split across several databases; once sharding is
+ * configured the employee service reads and writes through this instead.
+ * <p>
+ * Creates go to the shard that owns the email's bucket, lookups and writes by id to the shard that owns the bucket
+ * encoded in the id (see {@link EmployeeShardMap}). Queries that can match rows anywhere are sent to every shard at
+ * once and the per-shard results, each ordered by id, are merged into one ordered list. Each shard is only asked for
+ * the rows of the buckets it owns, so the copies a bucket move leaves on the other shard are never read.
+ * <p>
+ * A row keeps the bucket of the email it was created with, so after an email change the row and its email live in
+ * different buckets. Every email is therefore claimed in tbl_employee_emails on the shard owning the email's bucket;
+ * that primary key keeps emails unique across shards and is what a lookup by email reads. A create writes its claim
+ * and its row in one transaction on one shard. An email change claims the new email before the row is updated and
+ * releases the old one after, so a failure in between can leave a stale claim but never a duplicate.
+ * <p>
+ * Each shard versions its rows as the primary store does: every write bumps version and change_version, a delete
+ * leaves a tombstone, and the write increments the shard's collection version, all in the write's transaction.
+ * change_version comes from the shard's own sequence, so it orders the changes of one shard only. {@link #saveAll}
+ * is not atomic: when one shard rejects its batch, the rows already written to other shards stay.
+ */
+public class ShardedEmployeeRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version, change_version, last_modified";
+    private static final String INSERT = "INSERT INTO tbl_employees (id, first_name, last_name, email) VALUES (?, ?, ?, ?)";
+    private static final String CLAIM = "INSERT INTO tbl_employee_emails (email, bucket, employee_id) VALUES (?, ?, ?)";
+    private static final String RELEASE = "DELETE FROM tbl_employee_emails WHERE email = ? AND employee_id = ?";
+    // as in EmployeeWriteRepositoryImpl, the previous email and the row's new versions come back from the UPDATE itself
+    private static final String UPDATE = "SELECT email AS previous_email, version + 1 AS version, "
+            + "CURRENT VALUE FOR tbl_employees_change_seq AS change_version, CURRENT_TIMESTAMP AS last_modified "
+            + "FROM OLD TABLE (UPDATE tbl_employees "
+            + "SET first_name = ?, last_name = ?, email = ?, version = version + 1 WHERE id = ?";
+    private static final String INCREMENT_COLLECTION_VERSION =
+            "UPDATE tbl_employee_collection_version SET version = version + 1 WHERE id = 1";
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final String OWNING_BUCKET = "MOD(id, " + EmployeeShardMap.BUCKETS + ")";
+    private static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (resultSet, rowNum) -> new Employee(
+            resultSet.getLong("id"), resultSet.getString("first_name"),
+            resultSet.getString("last_name"), resultSet.getString("email"),
+            resultSet.getLong("change_version"), resultSet.getObject("last_modified", OffsetDateTime.class).toInstant(),
+            resultSet.getLong("version"));
+
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final EmployeeShardMap shardMap;
+    private final Executor executor;
+    private final List<IdBlock> idBlocks;
+
+    public ShardedEmployeeRepository(List<JdbcTemplate> shards, EmployeeShardMap shardMap, Executor executor) {
+        this.shards = List.copyOf(shards);
+        this.transactions = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard.getDataSource())))
+                .toList();
+        this.shardMap = shardMap;
+        this.executor = executor;
+        this.idBlocks = IntStream.range(0, shards.size()).mapToObj(IdBlock::new).toList();
+    }
+
+    public Employee save(Employee employee) {
+        int bucket = EmployeeShardMap.bucketOf(employee.getEmail());
+        return withReadLocks(IntStream.of(bucket), () -> {
+            int shard = shardMap.shardOf(bucket);
+            long id = nextId(shard, bucket);
+            return transactions.get(shard).execute(status -> {
+                JdbcTemplate database = shards.get(shard);
+                database.update(CLAIM, employee.getEmail(), bucket, id);
+                Employee saved = database.queryForObject("SELECT " + COLUMNS + " FROM FINAL TABLE (" + INSERT + ")",
+                        EMPLOYEE_ROW_MAPPER, id, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+                database.update(INCREMENT_COLLECTION_VERSION);
+                return saved;
+            });
+        });
+    }
+
+    // one transaction per shard, with a JDBC batch for the claims and one for the rows, written to all shards in parallel
+    public List<Employee> saveAll(List<Employee> employees) {
+        int[] buckets = employees.stream().mapToInt(employee -> EmployeeShardMap.bucketOf(employee.getEmail())).toArray();
+        return withReadLocks(IntStream.of(buckets), () -> {
+            long[] ids = new long[employees.size()];
+            Map<Integer, List<Integer>> indexesByShard = new HashMap<>();
+            for (int index = 0; index < ids.length; index++) {
+                int shard = shardMap.shardOf(buckets[index]);
+                ids[index] = nextId(shard, buckets[index]);
+                indexesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(index);
+            }
+            Map<Long, Employee> saved = new HashMap<>();
+            join(indexesByShard.entrySet().stream()
+                    .map(entry -> CompletableFuture.supplyAsync(() -> transactions.get(entry.getKey()).execute(status -> {
+                        JdbcTemplate database = shards.get(entry.getKey());
+                        List<Integer> indexes = entry.getValue();
+                        database.batchUpdate(CLAIM, indexes.stream()
+                                .map(index -> new Object[]{employees.get(index).getEmail(), buckets[index], ids[index]})
+                                .toList());
+                        database.batchUpdate(INSERT, indexes.stream()
+                                .map(index -> new Object[]{ids[index], employees.get(index).getFirstName(),
+                                        employees.get(index).getLastName(), employees.get(index).getEmail()})
+                                .toList());
+                        database.update(INCREMENT_COLLECTION_VERSION);
+                        // change_version and last_modified are the database's, read back with one IN query per chunk
+                        return findAllById(database, indexes.stream().map(index -> ids[index]).toList());
+                    }), executor))
+                    .toList())
+                    .forEach(rows -> rows.forEach(employee -> saved.put(employee.getId(), employee)));
+            return LongStream.of(ids).mapToObj(saved::get).toList();
+        });
+    }
+
+    public Optional<Employee> findById(long id) {
+        return shards.get(shardMap.shardOf(EmployeeShardMap.bucketOf(id)))
+                .query("SELECT " + COLUMNS + " FROM tbl_employees WHERE id = ?", EMPLOYEE_ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    // the rows of each shard are fetched in parallel, in no particular order
+    public List<Employee> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> byShard = ids.stream()
+                .collect(Collectors.groupingBy(id -> shardMap.shardOf(EmployeeShardMap.bucketOf(id))));
+        return join(byShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> findAllById(shards.get(entry.getKey()), entry.getValue()), executor))
+                .toList())
+                .stream().flatMap(List::stream).toList();
+    }
+
+    // the claim on the email's home shard names the employee, whose row may live on another shard
+    public Optional<Employee> findByEmail(String email) {
+        return shards.get(shardMap.shardOf(EmployeeShardMap.bucketOf(email)))
+                .queryForList("SELECT employee_id FROM tbl_employee_emails WHERE email = ?", Long.class, email)
+                .stream().findFirst()
+                .flatMap(this::findById);
+    }
+
+    public List<Employee> findAll() {
+        return scatterGather((shard, owned) -> shard.query(
+                "SELECT " + COLUMNS + " FROM tbl_employees WHERE " + owned + " ORDER BY id", EMPLOYEE_ROW_MAPPER));
+    }
+
+    // each shard returns its first rows after the id, and the first of those after merging are the first overall
+    public List<Employee> findByIdGreaterThan(long id, int limit) {
+        List<Employee> merged = scatterGather((shard, owned) -> shard.query(
+                "SELECT " + COLUMNS + " FROM tbl_employees WHERE id > ? AND " + owned + " ORDER BY id LIMIT ?",
+                EMPLOYEE_ROW_MAPPER, id, limit));
+        return merged.size() <= limit ? merged : List.copyOf(merged.subList(0, limit));
+    }
+
+    public List<Employee> findByFirstNameAndLastName(String firstName, String lastName) {
+        return scatterGather((shard, owned) -> shard.query(
+                "SELECT " + COLUMNS + " FROM tbl_employees WHERE first_name = ? AND last_name = ? AND " + owned + " ORDER BY id",
+                EMPLOYEE_ROW_MAPPER, firstName, lastName));
+    }
+
+    public List<String> findExistingEmails(Collection<String> emails) {
+        Map<Integer, List<String>> byShard = emails.stream()
+                .collect(Collectors.groupingBy(email -> shardMap.shardOf(EmployeeShardMap.bucketOf(email))));
+        return join(byShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> {
+                    String placeholders = String.join(", ", entry.getValue().stream().map(email -> "?").toList());
+                    return shards.get(entry.getKey()).queryForList(
+                            "SELECT email FROM tbl_employee_emails WHERE email IN (" + placeholders + ")",
+                            String.class, entry.getValue().toArray());
+                }, executor))
+                .toList())
+                .stream().flatMap(List::stream).toList();
+    }
+
+    public long count() {
+        return sumOverShards(shard -> "SELECT COUNT(*) FROM tbl_employees WHERE " + shardMap.ownedBy(shard, OWNING_BUCKET));
+    }
+
+    // every shard's counter only grows, so their sum moves with each write committed on any shard
+    public long findCollectionVersion() {
+        return sumOverShards(shard -> "SELECT version FROM tbl_employee_collection_version WHERE id = 1");
+    }
+
+    /**
+     * As in {@link EmployeeWriteRepository}: the employee as it now stands, or nothing for a missing id or, when a
+     * version is given, for a version that is no longer current. A new email that another employee has claimed is
+     * rejected with {@link DuplicateKeyException}.
+     */
+    public Optional<Employee> updateEmployeeById(long id, Long version, String firstName, String lastName, String email) {
+        int bucket = EmployeeShardMap.bucketOf(id);
+        int emailBucket = EmployeeShardMap.bucketOf(email);
+        Optional<UpdatedEmployee> updated = withReadLocks(IntStream.of(bucket, emailBucket), () -> {
+            JdbcTemplate emailHome = shards.get(shardMap.shardOf(emailBucket));
+            boolean claimed = claim(emailHome, email, emailBucket, id);
+            boolean written = false;
+            try {
+                Optional<UpdatedEmployee> result = update(bucket, id, version, firstName, lastName, email);
+                written = result.isPresent();
+                return result;
+            } finally {
+                if (claimed && !written) {
+                    emailHome.update(RELEASE, email, id);
+                }
+            }
+        });
+        updated.map(UpdatedEmployee::previousEmail)
+                .filter(previousEmail -> !previousEmail.equals(email))
+                .ifPresent(previousEmail -> release(previousEmail, id));
+        return updated.map(UpdatedEmployee::employee);
+    }
+
+    public int deleteEmployeeById(long id) {
+        int bucket = EmployeeShardMap.bucketOf(id);
+        List<String> previousEmails = withReadLocks(IntStream.of(bucket), () -> {
+            int shard = shardMap.shardOf(bucket);
+            return transactions.get(shard).execute(status -> {
+                JdbcTemplate database = shards.get(shard);
+                List<String> emails = database.queryForList(
+                        "SELECT email FROM OLD TABLE (DELETE FROM tbl_employees WHERE id = ?)", String.class, id);
+                if (!emails.isEmpty()) {
+                    database.update("INSERT INTO tbl_employee_tombstones (employee_id) VALUES (?)", id);
+                    database.update(INCREMENT_COLLECTION_VERSION);
+                }
+                return emails;
+            });
+        });
+        previousEmails.forEach(previousEmail -> release(previousEmail, id));
+        return previousEmails.size();
+    }
+
+    private Optional<UpdatedEmployee> update(int bucket, long id, Long version, String firstName, String lastName, String email) {
+        RowMapper<UpdatedEmployee> mapper = (resultSet, rowNum) -> new UpdatedEmployee(resultSet.getString("previous_email"),
+                new Employee(id, firstName, lastName, email, resultSet.getLong("change_version"),
+                        resultSet.getObject("last_modified", OffsetDateTime.class).toInstant(), resultSet.getLong("version")));
+        int shard = shardMap.shardOf(bucket);
+        return transactions.get(shard).execute(status -> {
+            JdbcTemplate database = shards.get(shard);
+            List<UpdatedEmployee> rows = version == null
+                    ? database.query(UPDATE + ")", mapper, firstName, lastName, email, id)
+                    : database.query(UPDATE + " AND version = ?)", mapper, firstName, lastName, email, id, version);
+            if (!rows.isEmpty()) {
+                database.update(INCREMENT_COLLECTION_VERSION);
+            }
+            return rows.stream().findFirst();
+        });
+    }
+
+    // false when the employee holds the email already, as for an update that keeps it
+    private static boolean claim(JdbcTemplate database, String email, int bucket, long id) {
+        try {
+            database.update(CLAIM, email, bucket, id);
+            return true;
+        } catch (DuplicateKeyException exception) {
+            if (database.queryForList("SELECT employee_id FROM tbl_employee_emails WHERE email = ?", Long.class, email).contains(id)) {
+                return false;
+            }
+            throw exception;
+        }
+    }
+
+    private void release(String email, long id) {
+        int bucket = EmployeeShardMap.bucketOf(email);
+        withReadLocks(IntStream.of(bucket), () -> shards.get(shardMap.shardOf(bucket)).update(RELEASE, email, id));
+    }
+
+    // always locked in bucket order, so two writers can never wait on each other
+    private <T> T withReadLocks(IntStream buckets, Supplier<T> write) {
+        List<Lock> locks = buckets.distinct().sorted()
+                .mapToObj(bucket -> shardMap.lockOf(bucket).readLock())
+                .toList();
+        locks.forEach(Lock::lock);
+        try {
+            return write.get();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private long sumOverShards(IntFunction<String> sql) {
+        return join(IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> shards.get(shard).queryForObject(sql.apply(shard), Long.class), executor))
+                .toList())
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static List<Employee> findAllById(JdbcTemplate database, List<Long> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(", ", chunk.stream().map(id -> "?").toList());
+            employees.addAll(database.query("SELECT " + COLUMNS + " FROM tbl_employees WHERE id IN (" + placeholders + ")",
+                    EMPLOYEE_ROW_MAPPER, chunk.toArray()));
+        }
+        return employees;
+    }
+
+    // runs the query on every shard in parallel and merges the id-ordered results. Each shard gets the condition for
+    // the rows of its own buckets to add, so the leftovers of a bucket move are never read twice
+    private List<Employee> scatterGather(BiFunction<JdbcTemplate, String, List<Employee>> query) {
+        return mergeById(join(IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(
+                        () -> query.apply(shards.get(shard), shardMap.ownedBy(shard, OWNING_BUCKET)), executor))
+                .toList()));
+    }
+
+    static List<Employee> mergeById(List<List<Employee>> sortedResults) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(Comparator.comparingLong(head -> head.peek().getId()));
+        int total = 0;
+        for (List<Employee> result : sortedResults) {
+            total += result.size();
+            if (!result.isEmpty()) {
+                heads.add(new PeekingIterator(result.iterator()));
+            }
+        }
+        List<Employee> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            PeekingIterator head = heads.poll();
+            merged.add(head.next());
+            if (head.peek() != null) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private long nextId(int shard, int bucket) {
+        return EmployeeShardMap.encodeId(idBlocks.get(shard).next(shards.get(shard)), shard, bucket);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private record UpdatedEmployee(String previousEmail, Employee employee) {
+    }
+
+    // hands out the block of 50 local numbers behind each sequence value, like Hibernate's pooled optimizer,
+    // so a shard's sequence is read once per 50 rows
+    private static final class IdBlock {
+
+        private static final int SIZE = 50;
+
+        private final int shard;
+        // not synchronized: a virtual thread blocked on the sequence query inside a monitor would pin its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+
+        private IdBlock(int shard) {
+            this.shard = shard;
+        }
+
+        private long next(JdbcTemplate database) {
+            lock.lock();
+            try {
+                if (next == limit) {
+                    Long start = database.queryForObject("SELECT NEXT VALUE FOR tbl_employees_seq", Long.class);
+                    if (start == null) {
+                        throw new IllegalStateException("Shard " + shard + " returned no sequence value");
+                    }
+                    next = start;
+                    limit = start + SIZE;
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<Employee> iterator;
+        private Employee head;
+
+        private PeekingIterator(Iterator<Employee> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        private Employee peek() {
+            return head;
+        }
+
+        private Employee next() {
+            Employee current = head;
+            head = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+    }
+}
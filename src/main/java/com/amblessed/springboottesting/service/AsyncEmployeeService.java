@@ -0,0 +1,41 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeService} with every operation returning at once, so callers can start several lookups and
+ * combine them with other work. A future fails with the exception the blocking call would have thrown, with
+ * {@link java.util.concurrent.RejectedExecutionException} when too many calls are already running, or with
+ * {@link java.util.concurrent.TimeoutException} when the result does not arrive in time.
+ */
+public interface AsyncEmployeeService {
+    CompletableFuture<Employee> saveEmployee(Employee employee);
+    CompletableFuture<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees);
+    CompletableFuture<List<Employee>> getAllEmployees();
+    CompletableFuture<EmployeePage> getEmployeesPage(String cursor, Integer limit);
+    CompletableFuture<String> getEmployeesVersion();
+    CompletableFuture<EmployeeChanges> getEmployeeChanges(String since, Integer limit);
+    CompletableFuture<Void> exportEmployees(Consumer<Employee> consumer);
+    CompletableFuture<Optional<Employee>> getEmployeeById(Long id);
+    CompletableFuture<EmployeeLookupResult> getEmployeesByIds(List<Long> ids);
+    CompletableFuture<Employee> updateEmployee(Long id, Employee updatedEmployee);
+    CompletableFuture<Void> deleteEmployeeById(Long id);
+}
@@ -0,0 +1,149 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.AsyncEmployeeServiceProperties;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs each {@link EmployeeService} call on a dedicated executor behind a bulkhead.
+ * <p>
+ * A call takes a permit before it is submitted and gives it back when the delegate returns, not when the caller
+ * gives up: a timed-out query still holds a connection, so it keeps counting against the limit until it ends.
+ * When no permit is free the call fails immediately instead of queueing, which keeps latency bounded under load
+ * and lets the caller fall back or shed the request.
+ */
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService, MeterBinder {
+
+    private final EmployeeService delegate;
+    private final Executor executor;
+    private final Semaphore bulkhead;
+    private final long timeoutNanos;
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public AsyncEmployeeServiceImpl(EmployeeService delegate, Executor executor, AsyncEmployeeServiceProperties properties) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.bulkhead = new Semaphore(properties.maxConcurrentCalls());
+        this.timeoutNanos = properties.timeout().toNanos();
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return submit(() -> delegate.saveEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees) {
+        return submit(() -> delegate.saveEmployees(employees));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return submit(delegate::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, Integer limit) {
+        return submit(() -> delegate.getEmployeesPage(cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<String> getEmployeesVersion() {
+        return submit(delegate::getEmployeesVersion);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChanges> getEmployeeChanges(String since, Integer limit) {
+        return submit(() -> delegate.getEmployeeChanges(since, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> exportEmployees(Consumer<Employee> consumer) {
+        return submit(() -> {
+            delegate.exportEmployees(consumer);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> getEmployeeById(Long id) {
+        return submit(() -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeLookupResult> getEmployeesByIds(List<Long> ids) {
+        return submit(() -> delegate.getEmployeesByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Long id, Employee updatedEmployee) {
+        return submit(() -> delegate.updateEmployee(id, updatedEmployee));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployeeById(Long id) {
+        return submit(() -> {
+            delegate.deleteEmployeeById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.async.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Async employee calls that can still start before new ones are rejected")
+                .register(registry);
+        FunctionCounter.builder("employee.async.rejected", rejectedCalls, LongAdder::sum)
+                .description("Async employee calls rejected because the bulkhead was full")
+                .register(registry);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (!bulkhead.tryAcquire()) {
+            rejectedCalls.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many concurrent employee calls"));
+        }
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    bulkhead.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            // executor shut down: the task never ran, so its permit must be returned here
+            bulkhead.release();
+            return CompletableFuture.failedFuture(exception);
+        }
+        return result.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,171 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeServiceCacheProperties;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Cache-aside decorator around the {@link EmployeeService}: lookups by id are served from a bounded Caffeine
+ * cache, including short-lived entries for unknown ids, and every write evicts or refreshes the affected entry.
+ * <p>
+ * The cache holds futures: the first reader of an id puts an incomplete future and then loads the row itself,
+ * outside the cache's per-key lock, while concurrent readers of the same id wait on that future. Holding the lock
+ * during a database call would pin a virtual thread to its carrier for as long as the query (or the wait for a
+ * pooled connection) takes. A write invalidates the entry after it commits; a load that was still running is
+ * dropped rather than stored, so no read that starts after the write has returned can see the old row.
+ */
+public class CachingEmployeeService implements EmployeeService, MeterBinder {
+
+    private final EmployeeService delegate;
+    private final AsyncCache<Long, Optional<Employee>> employeesById;
+
+    public CachingEmployeeService(EmployeeService delegate, EmployeeServiceCacheProperties properties) {
+        this.delegate = delegate;
+        this.employeesById = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new PresenceBasedExpiry(properties.timeToLive().toNanos(), properties.negativeTimeToLive().toNanos()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        Employee savedEmployee = delegate.saveEmployee(employee);
+        // replaces a negative entry that a scanner may have left for this id
+        employeesById.put(savedEmployee.getId(), CompletableFuture.completedFuture(Optional.of(savedEmployee)));
+        return savedEmployee;
+    }
+
+    @Override
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        List<EmployeeBatchResult> results = delegate.saveEmployees(employees);
+        results.stream()
+                .filter(result -> result.status() == EmployeeBatchResult.Status.CREATED)
+                .forEach(result -> employeesById.synchronous().invalidate(result.employee().getId()));
+        return results;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public EmployeePage getEmployeesPage(String cursor, Integer limit) {
+        return delegate.getEmployeesPage(cursor, limit);
+    }
+
+    // a cached version could answer 304 for a list that has changed since
+    @Override
+    public String getEmployeesVersion() {
+        return delegate.getEmployeesVersion();
+    }
+
+    // sync reads the tables directly: a cached employee says nothing about what changed since a token
+    @Override
+    public EmployeeChanges getEmployeeChanges(String since, Integer limit) {
+        return delegate.getEmployeeChanges(since, limit);
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        delegate.exportEmployees(consumer);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(Long id) {
+        CompletableFuture<Optional<Employee>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> cached = employeesById.get(id, (key, executor) -> load);
+        if (cached != load) {
+            return join(cached);
+        }
+        try {
+            Optional<Employee> employee = delegate.getEmployeeById(id);
+            load.complete(employee);
+            return employee;
+        } catch (RuntimeException exception) {
+            // a failed future is removed from the cache, so the next reader retries
+            load.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    // passed through: filling the cache from a bulk read could race with a concurrent eviction
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        return delegate.getEmployeesByIds(ids);
+    }
+
+    @Override
+    public Employee updateEmployee(Long id, Employee updatedEmployee) {
+        Employee employee = delegate.updateEmployee(id, updatedEmployee);
+        employeesById.synchronous().invalidate(id);
+        return employee;
+    }
+
+    @Override
+    public void deleteEmployeeById(Long id) {
+        delegate.deleteEmployeeById(id);
+        employeesById.synchronous().invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, employeesById, "employee-service");
+    }
+
+    private static Optional<Employee> join(CompletableFuture<Optional<Employee>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    // found employees live for timeToLive, unknown ids only for negativeTimeToLive; reads do not extend either
+    private record PresenceBasedExpiry(long timeToLiveNanos, long negativeTimeToLiveNanos)
+            implements Expiry<Long, Optional<Employee>> {
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<Employee> employee, long currentTime) {
+            return employee.isPresent() ? timeToLiveNanos : negativeTimeToLiveNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<Employee> employee, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, employee, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<Employee> employee, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeChangeStreamProperties;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes the changes relayed from the outbox to Server-Sent Events subscribers.
+ * <p>
+ * The relay only offers each change to the subscribers' buffers, so a slow client never holds up the relay or
+ * the writers behind it: a subscriber whose buffer is full is disconnected and resumes with {@code Last-Event-ID}.
+ * Each buffer is written out by a short task on {@code sender}, so an idle subscriber holds no thread, only its
+ * async request. The event id is the change's published sequence, which the relay draws in the order it delivers
+ * changes, so every change a client has not received has a higher id than the last one it did. A resuming client is
+ * first sent the changes after its {@code Last-Event-ID}, read from the outbox, and then the live ones; whatever
+ * reaches it twice, from the replay and live or from a batch the relay delivers again, is sent only once.
+ */
+public class EmployeeChangeFeed implements SmartLifecycle, MeterBinder {
+
+    static final String RESET_EVENT = "reset";
+    private static final Object HEARTBEAT = new Object();
+
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final EmployeeChangeStreamProperties properties;
+    private final Executor sender;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedSubscribers = new LongAdder();
+    private ScheduledFuture<?> heartbeat;
+
+    public EmployeeChangeFeed(EmployeeOutboxRepository employeeOutboxRepository, EmployeeChangeStreamProperties properties,
+                              Executor sender, ScheduledExecutorService heartbeats) {
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.properties = properties;
+        this.sender = sender;
+        this.heartbeats = heartbeats;
+    }
+
+    public SseEmitter subscribe(Long lastEventId, Set<Long> employeeIds) {
+        return subscribe(new SseEmitter(properties.timeout().toMillis()), lastEventId, employeeIds);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId, Set<Long> employeeIds) {
+        Subscriber subscriber = new Subscriber(emitter, lastEventId, employeeIds == null ? null : Set.copyOf(employeeIds));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        // registered before the replay is read, so nothing published in between is missed
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @EventListener
+    public void onChange(EmployeeChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        long interval = properties.heartbeatInterval().toNanos();
+        heartbeat = heartbeats.scheduleAtFixedRate(
+                () -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)), interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    // ends every stream before the web server's graceful shutdown, which would otherwise wait for them
+    @Override
+    public void stop() {
+        heartbeat.cancel(false);
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        heartbeat = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return heartbeat != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.stream.subscribers", subscribers, Set::size)
+                .description("Open employee change streams")
+                .register(registry);
+        FunctionCounter.builder("employee.stream.dropped", droppedSubscribers, LongAdder::sum)
+                .description("Employee change streams closed because the client fell too far behind")
+                .register(registry);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> employeeIds;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private boolean replayPending;
+        // published sequence of the last change sent; changes arrive in that order, so anything at or below it is a repeat
+        private long lastSent;
+
+        private Subscriber(SseEmitter emitter, Long lastEventId, Set<Long> employeeIds) {
+            this.emitter = emitter;
+            this.replayPending = lastEventId != null;
+            this.lastSent = lastEventId == null ? 0 : lastEventId;
+            this.employeeIds = employeeIds;
+        }
+
+        private boolean wants(EmployeeChangeEvent event) {
+            return employeeIds == null || employeeIds.contains(event.employeeId());
+        }
+
+        private void offer(Object item) {
+            if (!buffer.offer(item)) {
+                if (subscribers.remove(this)) {
+                    droppedSubscribers.increment();
+                    // completing waits for a send in progress, which is what made this subscriber slow
+                    sender.execute(emitter::complete);
+                }
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::send);
+            }
+        }
+
+        // at most one send task per subscriber at a time, so events go out in buffer order
+        private void send() {
+            try {
+                if (replayPending) {
+                    replay();
+                }
+                Object item;
+                while ((item = buffer.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (item instanceof EmployeeChangeEvent event && event.publishedSequence() > lastSent) {
+                        emitter.send(toSse(event));
+                        lastSent = event.publishedSequence();
+                    }
+                }
+            } catch (IOException | IllegalStateException exception) {
+                // the client went away or the emitter was completed; its callbacks remove the subscriber
+                subscribers.remove(this);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        // sends the changes after Last-Event-ID; live changes wait in the buffer meanwhile. More than replayLimit
+        // changes for this subscriber is answered with a reset event.
+        private void replay() throws IOException {
+            int sent = 0;
+            while (true) {
+                List<EmployeeChangeEvent> page = employeeOutboxRepository.findPublishedAfter(lastSent, properties.bufferSize());
+                for (EmployeeChangeEvent event : page) {
+                    if (wants(event)) {
+                        if (sent == properties.replayLimit()) {
+                            emitter.send(SseEmitter.event().name(RESET_EVENT).data("Too many changes to replay, reload the employees"));
+                            emitter.complete();
+                            throw new IllegalStateException("replay limit reached");
+                        }
+                        emitter.send(toSse(event));
+                        sent++;
+                    }
+                    lastSent = event.publishedSequence();
+                }
+                if (page.size() < properties.bufferSize()) {
+                    break;
+                }
+            }
+            replayPending = false;
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(EmployeeChangeEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.publishedSequence()))
+                .name(event.type().name().toLowerCase())
+                .data(event);
+    }
+}
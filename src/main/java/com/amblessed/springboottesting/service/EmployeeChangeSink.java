@@ -0,0 +1,23 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A batch arrives in outbox order; a sink that throws gets the whole batch again
+ * on the next attempt, so it must tolerate seeing an event more than once.
+ */
+public interface EmployeeChangeSink {
+
+    void publish(List<EmployeeChangeEvent> events);
+}
@@ -0,0 +1,44 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last synced change version as an opaque, URL-safe sync token, the same way {@link EmployeeCursor}
+ * encodes a page position; the prefix keeps a page cursor from being passed off as a sync token.
+ */
+final class EmployeeChangeToken {
+
+    private static final String PREFIX = "v:";
+
+    private EmployeeChangeToken() {
+    }
+
+    static String encode(long changeVersion) {
+        byte[] raw = (PREFIX + changeVersion).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static long decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid sync token: " + token);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException("Invalid sync token: " + token);
+        }
+    }
+}
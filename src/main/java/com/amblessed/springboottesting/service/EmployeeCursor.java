@@ -0,0 +1,43 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen employee id as an opaque, URL-safe cursor so clients do not depend on the key layout.
+ */
+final class EmployeeCursor {
+
+    private static final String PREFIX = "id:";
+
+    private EmployeeCursor() {
+    }
+
+    static String encode(long lastSeenId) {
+        byte[] raw = (PREFIX + lastSeenId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
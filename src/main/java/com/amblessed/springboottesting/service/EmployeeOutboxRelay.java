@@ -0,0 +1,136 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeOutboxProperties;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the outbox to every {@link EmployeeChangeSink}, oldest change first.
+ * <p>
+ * A batch is marked published only after all sinks have taken it. If a sink fails, or the process dies in between,
+ * the same batch is published again from its first change, so delivery is at least once and a sink never sees a
+ * change of an employee before the changes that preceded it. Run one relay per database: two relays would each
+ * deliver every change, and could interleave them.
+ */
+public class EmployeeOutboxRelay implements SmartLifecycle, MeterBinder {
+
+    private static final Duration CLEAN_UP_INTERVAL = Duration.ofMinutes(1);
+
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final List<EmployeeChangeSink> sinks;
+    private final EmployeeOutboxProperties properties;
+    private final LongAdder publishedChanges = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile CountDownLatch stopped;
+    private Thread relay;
+    private Instant nextCleanUp = Instant.MIN;
+
+    public EmployeeOutboxRelay(EmployeeOutboxRepository employeeOutboxRepository, List<EmployeeChangeSink> sinks,
+                               EmployeeOutboxProperties properties) {
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.sinks = List.copyOf(sinks);
+        this.properties = properties;
+    }
+
+    // publishes one batch and returns its size; a failing sink propagates and leaves the batch unpublished
+    int relayOnce() {
+        List<EmployeeChangeEvent> batch = employeeOutboxRepository.findUnpublished(properties.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // numbered before any sink sees them, so a stream client can resume from any change it has received
+        List<EmployeeChangeEvent> numbered = employeeOutboxRepository.assignPublishedSequences(batch);
+        sinks.forEach(sink -> sink.publish(numbered));
+        employeeOutboxRepository.markPublished(batch.stream().map(EmployeeChangeEvent::sequence).toList());
+        publishedChanges.add(batch.size());
+        return batch.size();
+    }
+
+    @Override
+    public void start() {
+        stopped = new CountDownLatch(1);
+        relay = Thread.ofPlatform().name("employee-outbox-relay").daemon().start(this::relayUntilStopped);
+    }
+
+    @Override
+    public void stop() {
+        stopped.countDown();
+        try {
+            relay.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stopped != null && stopped.getCount() > 0;
+    }
+
+    // stops after EmployeeWriteBehindQueue has written out its last creates, so their changes are relayed too
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.outbox.published", publishedChanges, LongAdder::sum)
+                .description("Employee changes delivered to every outbox sink")
+                .register(registry);
+        FunctionCounter.builder("employee.outbox.failed.batches", failedBatches, LongAdder::sum)
+                .description("Outbox batches that a sink or the database failed and that will be delivered again")
+                .register(registry);
+    }
+
+    private void relayUntilStopped() {
+        try {
+            while (stopped.getCount() > 0) {
+                boolean caughtUp;
+                try {
+                    caughtUp = relayOnce() < properties.batchSize();
+                    if (caughtUp) {
+                        cleanUp();
+                    }
+                } catch (RuntimeException exception) {
+                    failedBatches.increment();
+                    caughtUp = true;
+                }
+                if (caughtUp) {
+                    stopped.await(properties.pollInterval().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cleanUp() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextCleanUp)) {
+            return;
+        }
+        employeeOutboxRepository.deletePublishedBefore(now.minus(properties.retention()));
+        nextCleanUp = now.plus(CLEAN_UP_INTERVAL);
+    }
+}
@@ -10,14 +10,25 @@ package com.amblessed.springboottesting.service;
 
 
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
     List<Employee> getAllEmployees();
+    EmployeePage getEmployeesPage(String cursor, Integer limit);
+    String getEmployeesVersion();
+    EmployeeChanges getEmployeeChanges(String since, Integer limit);
+    void exportEmployees(Consumer<Employee> consumer);
     Optional<Employee> getEmployeeById(Long id);
+    EmployeeLookupResult getEmployeesByIds(List<Long> ids);
     Employee updateEmployee(Long id, Employee updatedEmployee);
     void deleteEmployeeById(Long id);
 }
@@ -9,54 +9,478 @@ package com.amblessed.springboottesting.service;
  */
 
 
+import com.amblessed.springboottesting.config.EmployeeSyncProperties;
+import com.amblessed.springboottesting.exception.InvalidRequestException;
 import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
 import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.model.EmployeeTombstone;
+import com.amblessed.springboottesting.repository.EmployeeCollectionVersionRepository;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
 import com.amblessed.springboottesting.repository.EmployeeRepository;
+import com.amblessed.springboottesting.repository.EmployeeTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.annotation.Fallback;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+// steps aside for ShardedEmployeeService when the sharded store is configured
 @Service
+@Fallback
 @AllArgsConstructor
-public class EmployeeServiceImpl implements EmployeeService {
+public class EmployeeServiceImpl implements EmployeeService, MeterBinder {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    // keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    static final int INSERT_BATCH_SIZE = 50;
+    // upper bound on bind parameters per IN clause; several databases reject very long lists
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    static final int MAX_LOOKUP_IDS = 10_000;
+    // employees created per transaction by saveEmployees; a chunk commits well inside maxWriteTime
+    static final int COMMIT_CHUNK_SIZE = INSERT_BATCH_SIZE * 5;
+    // one timer per service method (tagged class and method); histogram buckets are enabled in application.properties
+    static final String SERVICE_TIMER = "employee.service";
 
     private EmployeeRepository employeeRepository;
 
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    private EmployeeCollectionVersionRepository employeeCollectionVersionRepository;
+
+    private EmployeeSyncProperties employeeSyncProperties;
+
+    private EntityManager entityManager;
+
+    private PlatformTransactionManager transactionManager;
+
+    // concurrent lookups of the same id share one in-flight query
+    private final SingleFlight<Long, Optional<Employee>> employeeLookups = new SingleFlight<>();
+
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional
     public Employee saveEmployee(Employee employee) {
+        registerWrite();
+        // no findByEmail pre-check: the unique constraint on email decides, which costs no extra query
+        // and cannot race with a concurrent create of the same email
+        employee.setId(null);
+        employee.setVersion(null);
+        skipCachePutsOnInsert();
+        Employee saved;
+        try {
+            saved = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException exception) {
+            throw translateUniqueViolation(exception, "Employee with given email: " + employee.getEmail() + " already exists");
+        }
+        // picks up change_version and last_modified, which the INSERT left to the database
+        entityManager.refresh(saved);
+        employeeOutboxRepository.append(EmployeeChangeEvent.Type.CREATED, saved);
+        return saved;
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    // No transaction around the whole batch: the employees are created in chunks of COMMIT_CHUNK_SIZE, each committed
+    // on its own, so an import of any size keeps every transaction within maxWriteTime (see registerWrite)
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        List<Integer> toCreate = sortOutBatch(employees, employeeRepository::findExistingEmails, results);
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceAlreadyExistsException("Employee with given email: " + employee.getEmail() + " already exists");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < toCreate.size(); from += COMMIT_CHUNK_SIZE) {
+            List<Integer> chunk = toCreate.subList(from, Math.min(from + COMMIT_CHUNK_SIZE, toCreate.size()));
+            try {
+                transaction.executeWithoutResult(status -> createChunk(employees, chunk, results));
+            } catch (DataIntegrityViolationException exception) {
+                // an email created by another request after the IN query above; this chunk rolled back, earlier ones stay
+                throw translateUniqueViolation(exception, "An email in the batch was created by another request meanwhile, "
+                        + "no employee from index " + chunk.getFirst() + " on was created");
+            }
         }
-        return employeeRepository.save(employee);
+        return Arrays.asList(results);
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        long lastSeenId = cursor == null || cursor.isBlank() ? 0L : EmployeeCursor.decode(cursor);
+
+        // fetch one extra row to learn whether another page exists without issuing a COUNT query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(pageSize + 1));
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+        List<Employee> page = employees.subList(0, pageSize);
+        return new EmployeePage(List.copyOf(page), EmployeeCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public String getEmployeesVersion() {
+        return String.valueOf(employeeCollectionVersionRepository.find());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public EmployeeChanges getEmployeeChanges(String since, Integer limit) {
+        int pageSize = pageSize(limit);
+        long syncedVersion = since == null || since.isBlank() ? 0L : EmployeeChangeToken.decode(since);
+        // the database's clock, the one last_modified and deleted_at are written with
+        Instant settled = employeeRepository.findDatabaseTime().minus(employeeSyncProperties.settleTime());
+
+        // both seeks fetch one extra row, as the page scan does, to tell whether more changes are waiting
+        List<Employee> employees = employeeRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(
+                syncedVersion, Limit.of(pageSize + 1));
+        List<EmployeeTombstone> tombstones = employeeTombstoneRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(
+                syncedVersion, Limit.of(pageSize + 1));
+
+        // merge the two by version and stop at the first change that has not settled. Every version below a settled
+        // change was drawn by a transaction that started before that change was written; write transactions are cut
+        // off at maxWriteTime, half the settle time, so each of those has committed or rolled back by now
+        List<Employee> changed = new ArrayList<>();
+        List<EmployeeTombstone> deleted = new ArrayList<>();
+        int nextEmployee = 0;
+        int nextTombstone = 0;
+        while (changed.size() + deleted.size() < pageSize) {
+            Employee employee = nextEmployee < employees.size() ? employees.get(nextEmployee) : null;
+            EmployeeTombstone tombstone = nextTombstone < tombstones.size() ? tombstones.get(nextTombstone) : null;
+            if (employee != null && (tombstone == null || employee.getChangeVersion() < tombstone.getChangeVersion())) {
+                if (employee.getLastModified().isAfter(settled)) {
+                    break;
+                }
+                changed.add(employee);
+                syncedVersion = employee.getChangeVersion();
+                nextEmployee++;
+            } else if (tombstone != null) {
+                if (tombstone.getDeletedAt().isAfter(settled)) {
+                    break;
+                }
+                deleted.add(tombstone);
+                syncedVersion = tombstone.getChangeVersion();
+                nextTombstone++;
+            } else {
+                break;
+            }
+        }
+        boolean hasMore = changed.size() + deleted.size() == pageSize
+                && (nextEmployee < employees.size() || nextTombstone < tombstones.size());
+        return new EmployeeChanges(changed, deleted, EmployeeChangeToken.encode(syncedVersion), hasMore);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // drop each row from the persistence context once written so heap use does not grow with the table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    // no service transaction: one here would hold a connection in every caller waiting on a coalesced lookup;
+    // findById runs in the repository's own read-only transaction, which is what routes it to a replica
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        return employeeLookups.execute(id, () -> employeeRepository.findById(id));
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        List<Long> requestedIds = requestedIds(ids);
+        List<Employee> found = new ArrayList<>();
+        for (int from = 0; from < requestedIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, requestedIds.size()));
+            employeeRepository.findAllById(chunk).forEach(found::add);
+        }
+        return lookupResult(requestedIds, found);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    // updatedEmployee's version is the one the caller read: the update only applies while it is still current.
+    // Without a version the update is unconditional, for callers that own the employee outright.
     public Employee updateEmployee(Long id, Employee updatedEmployee) {
-        Optional<Employee> employee = employeeRepository.findById(id);
-        if (employee.isPresent()) {
-            return employeeRepository.save(updatedEmployee);
+        registerWrite();
+        Long expectedVersion = updatedEmployee.getVersion();
+        Optional<Employee> updated;
+        try {
+            updated = expectedVersion == null
+                    ? employeeRepository.updateEmployeeById(id, updatedEmployee.getFirstName(),
+                            updatedEmployee.getLastName(), updatedEmployee.getEmail())
+                    : employeeRepository.updateEmployeeByIdAndVersion(id, expectedVersion, updatedEmployee.getFirstName(),
+                            updatedEmployee.getLastName(), updatedEmployee.getEmail());
+        } catch (DataIntegrityViolationException exception) {
+            throw translateUniqueViolation(exception, "Employee with given email: " + updatedEmployee.getEmail() + " already exists");
         }
-        throw new ResourceNotFoundException("Employee with id: " + id + " not found");
+        if (updated.isEmpty()) {
+            // only a failed conditional update pays for telling a stale version apart from a missing employee
+            if (expectedVersion != null && employeeRepository.existsById(id)) {
+                throw new StaleVersionException("Employee with id: " + id + " is no longer at version " + expectedVersion);
+            }
+            throw new ResourceNotFoundException("Employee with id: " + id + " not found");
+        }
+        // appended after the UPDATE, which holds the row lock until commit, so the id it draws from the
+        // outbox sequence is higher than that of any earlier change to this employee
+        employeeOutboxRepository.append(EmployeeChangeEvent.Type.UPDATED, updated.get());
+        forgetInFlightLookupAfterCommit(id);
+        return updated.get();
     }
 
     @Override
+    @Timed(SERVICE_TIMER)
+    @Transactional
     public void deleteEmployeeById(Long id) {
-        employeeRepository.deleteById(id);
+        registerWrite();
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee with id: " + id + " not found");
+        }
+        employeeOutboxRepository.append(EmployeeChangeEvent.Type.DELETED, new Employee(id, null, null, null));
+        forgetInFlightLookupAfterCommit(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.lookups.coalesced", employeeLookups, SingleFlight::coalescedCount)
+                .description("Lookups by id that joined an identical in-flight query instead of issuing their own")
+                .register(registry);
+    }
+
+    static int pageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Checks a batch before anything is written: an employee with a missing field is {@code invalid}, and one whose
+     * email exists already, or appeared earlier in the batch, a {@code duplicate}; their results are filled in.
+     * Existing emails are looked up with one IN query per {@link #IN_CLAUSE_CHUNK_SIZE} emails.
+     *
+     * @return the indexes of the employees to create, in request order
+     */
+    static List<Integer> sortOutBatch(List<Employee> employees, Function<List<String>, Collection<String>> findExistingEmails,
+                                      EmployeeBatchResult[] results) {
+        List<String> emails = batchEmails(employees);
+        Set<String> takenEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            takenEmails.addAll(findExistingEmails.apply(emails.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, emails.size()))));
+        }
+        return sortOutBatch(employees, takenEmails, results);
+    }
+
+    // the emails of a batch worth looking up: neither missing nor repeated
+    static List<String> batchEmails(List<Employee> employees) {
+        return employees.stream()
+                .map(Employee::getEmail)
+                .filter(email -> email != null && !email.isBlank())
+                .distinct()
+                .toList();
+    }
+
+    // as above, with the existing emails already looked up; takenEmails is added to
+    static List<Integer> sortOutBatch(List<Employee> employees, Set<String> takenEmails, EmployeeBatchResult[] results) {
+        List<Integer> toCreate = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            String missingField = missingField(employee);
+            if (missingField != null) {
+                results[index] = EmployeeBatchResult.invalid(index, employee, missingField + " is required");
+            } else if (!takenEmails.add(employee.getEmail())) {
+                // takenEmails also collects the emails of this batch, so a repeated email in the request is a duplicate too
+                results[index] = EmployeeBatchResult.duplicate(index, employee);
+            } else {
+                toCreate.add(index);
+            }
+        }
+        return toCreate;
+    }
+
+    // the ids of a batch lookup, without nulls and repeats
+    static List<Long> requestedIds(List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException("At most " + MAX_LOOKUP_IDS + " ids can be fetched at once");
+        }
+        return ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    // answer in the order the ids were asked for, not the order the database returned them
+    static EmployeeLookupResult lookupResult(List<Long> requestedIds, Collection<Employee> found) {
+        Map<Long, Employee> employeesById = new HashMap<>();
+        found.forEach(employee -> employeesById.put(employee.getId(), employee));
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Employee employee = employeesById.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new EmployeeLookupResult(employees, missingIds);
+    }
+
+    // the NOT NULL columns, checked up front so one bad row is reported at its index instead of failing the batch
+    static String missingField(Employee employee) {
+        if (employee.getFirstName() == null) {
+            return "firstName";
+        }
+        if (employee.getLastName() == null) {
+            return "lastName";
+        }
+        if (employee.getEmail() == null || employee.getEmail().isBlank()) {
+            return "email";
+        }
+        return null;
+    }
+
+    private void createChunk(List<Employee> employees, List<Integer> indexes, EmployeeBatchResult[] results) {
+        registerWrite();
+        List<Employee> created = new ArrayList<>(indexes.size());
+        skipCachePutsOnInsert();
+        for (int index : indexes) {
+            Employee employee = employees.get(index);
+            employee.setId(null);
+            employee.setVersion(null);
+            Employee saved = employeeRepository.save(employee);
+            created.add(saved);
+            results[index] = EmployeeBatchResult.created(index, saved);
+            // flush full JDBC batches and clear them from the persistence context so large imports keep a flat heap
+            if (created.size() % INSERT_BATCH_SIZE == 0) {
+                employeeRepository.flush();
+                entityManager.clear();
+            }
+        }
+        // flushed here rather than at commit, so the unique constraint reports through the repository's translation
+        employeeRepository.flush();
+        readDatabaseAssignedColumns(created);
+        employeeOutboxRepository.appendAll(EmployeeChangeEvent.Type.CREATED, created);
+    }
+
+    // change_version and last_modified are assigned by the database, so an entity Hibernate has just inserted lacks
+    // them. Hibernate would put that entity into the second-level cache as it stands, where readers would find it
+    // until it expires; left out, the first read loads the whole row instead.
+    private void skipCachePutsOnInsert() {
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    }
+
+    // reads both columns back for a batch, one IN query per chunk instead of a refresh per row
+    private void readDatabaseAssignedColumns(List<Employee> created) {
+        entityManager.clear();
+        Map<Long, Employee> createdById = new HashMap<>();
+        created.forEach(employee -> createdById.put(employee.getId(), employee));
+        List<Long> ids = new ArrayList<>(createdById.keySet());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            employeeRepository.findAllById(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())))
+                    .forEach(loaded -> {
+                        Employee employee = createdById.get(loaded.getId());
+                        employee.setChangeVersion(loaded.getChangeVersion());
+                        employee.setLastModified(loaded.getLastModified());
+                    });
+        }
+    }
+
+    // Runs as a write transaction commits. One still open at maxWriteTime is rolled back instead, since delta sync
+    // skips a version committed after the settle time (see EmployeeSyncProperties). Otherwise the collection version
+    // is incremented, as the last statement, so its row lock is held only for the commit itself.
+    private void registerWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Duration maxWriteTime = employeeSyncProperties.maxWriteTime();
+        long startedAt = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!maxWriteTime.isZero() && System.nanoTime() - startedAt > maxWriteTime.toNanos()) {
+                    throw new TransactionTimedOutException("Employee write ran longer than " + maxWriteTime + ", rolled back");
+                }
+                employeeCollectionVersionRepository.increment();
+            }
+        });
+    }
+
+    // a lookup that started before this write must not be handed to readers arriving after the commit
+    private void forgetInFlightLookupAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            employeeLookups.forget(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                employeeLookups.forget(id);
+            }
+        });
+    }
+
+    // Spring reports every constraint violation as DataIntegrityViolationException; only a unique violation
+    // means the email is taken, anything else (e.g. a null column) is passed on unchanged
+    private static RuntimeException translateUniqueViolation(DataIntegrityViolationException exception, String message) {
+        if (exception.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+            return new ResourceAlreadyExistsException(message);
+        }
+        return exception;
     }
 }
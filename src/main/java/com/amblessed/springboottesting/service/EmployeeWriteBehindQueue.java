@@ -0,0 +1,218 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeWriteBehindProperties;
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.exception.WriteQueueFullException;
+import com.amblessed.springboottesting.exception.WriteQueueStoppedException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeWriteStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Accepts employee creates into a bounded queue and writes them behind the caller's back.
+ * <p>
+ * A single flusher thread takes what has queued up and hands it to {@link EmployeeService#saveEmployees}, which
+ * commits it in bounded chunks, so a burst of single creates costs a few batched inserts instead of a transaction
+ * each. A batch is written once it holds {@code batchSize} creates or {@code flushInterval} after its first create
+ * arrived. When the queue is full a create is refused straight away, so callers see the backlog instead of piling
+ * onto it.
+ * <p>
+ * Stopped after the web server, so no request is still submitting: the flusher then writes out everything queued
+ * before the datasource closes. Creates still queued when {@code drainTimeout} runs out are reported as failed.
+ */
+public class EmployeeWriteBehindQueue implements SmartLifecycle, MeterBinder {
+
+    private final EmployeeService employeeService;
+    private final EmployeeWriteBehindProperties properties;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Cache<String, EmployeeWriteStatus> statuses;
+    // submit holds the read lock from its check to its offer, so once stop() has the write lock nothing more is queued
+    private final ReadWriteLock acceptingLock = new ReentrantReadWriteLock();
+    private final LongAdder rejectedCreates = new LongAdder();
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public EmployeeWriteBehindQueue(EmployeeService employeeService, EmployeeWriteBehindProperties properties) {
+        this.employeeService = employeeService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(properties.statusRetention())
+                .maximumSize(properties.statusCapacity())
+                .build();
+    }
+
+    public EmployeeWriteStatus submit(Employee employee) {
+        EmployeeWriteStatus status = EmployeeWriteStatus.queued(UUID.randomUUID().toString(), employee);
+        acceptingLock.readLock().lock();
+        try {
+            if (!accepting) {
+                rejectedCreates.increment();
+                throw new WriteQueueStoppedException("Employee write queue is shutting down and not accepting creates");
+            }
+            statuses.put(status.trackingId(), status);
+            if (!queue.offer(new PendingCreate(status.trackingId(), employee))) {
+                statuses.invalidate(status.trackingId());
+                rejectedCreates.increment();
+                throw new WriteQueueFullException("Employee write queue is full, retry later");
+            }
+        } finally {
+            acceptingLock.readLock().unlock();
+        }
+        return status;
+    }
+
+    public Optional<EmployeeWriteStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        accepting = true;
+        flusher = Thread.ofPlatform().name("employee-write-behind").daemon().start(this::flushUntilStopped);
+    }
+
+    @Override
+    public void stop() {
+        acceptingLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptingLock.writeLock().unlock();
+        }
+        running = false;
+        try {
+            if (!flusher.join(properties.drainTimeout())) {
+                flusher.interrupt();
+                flusher.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingCreate> unwritten = new ArrayList<>();
+        queue.drainTo(unwritten);
+        unwritten.forEach(pending -> statuses.put(pending.trackingId(),
+                EmployeeWriteStatus.failed(pending.trackingId(), pending.employee(), "Not written before shutdown")));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // stops after the web server (DEFAULT_PHASE - 1024 for graceful shutdown, - 2048 for the server itself)
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.write-behind.queued", queue, BlockingQueue::size)
+                .description("Employee creates accepted but not yet written")
+                .register(registry);
+        FunctionCounter.builder("employee.write-behind.rejected", rejectedCreates, LongAdder::sum)
+                .description("Employee creates refused because the write-behind queue was full or stopping")
+                .register(registry);
+    }
+
+    // keeps going after stop() until the queue is empty, so everything accepted is written
+    private void flushUntilStopped() {
+        long flushIntervalNanos = properties.flushInterval().toNanos();
+        List<PendingCreate> batch = new ArrayList<>(properties.batchSize());
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingCreate first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < properties.batchSize()) {
+                    queue.drainTo(batch, properties.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == properties.batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            // drain timed out; stop() reports the rest as failed
+            batch.forEach(queue::offer);
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        List<EmployeeBatchResult> results;
+        try {
+            results = employeeService.saveEmployees(batch.stream().map(pending -> copyOf(pending.employee())).toList());
+        } catch (RuntimeException exception) {
+            // the batch rolled back as a whole, typically an email created elsewhere after the duplicate check;
+            // write the creates one by one so only the offending ones fail
+            batch.forEach(this::flushOne);
+            return;
+        }
+        for (int index = 0; index < batch.size(); index++) {
+            String trackingId = batch.get(index).trackingId();
+            statuses.put(trackingId, EmployeeWriteStatus.of(trackingId, results.get(index)));
+        }
+    }
+
+    private void flushOne(PendingCreate pending) {
+        Employee employee = copyOf(pending.employee());
+        EmployeeBatchResult result;
+        try {
+            result = EmployeeBatchResult.created(0, employeeService.saveEmployee(employee));
+        } catch (ResourceAlreadyExistsException exception) {
+            result = EmployeeBatchResult.duplicate(0, employee);
+        } catch (RuntimeException exception) {
+            statuses.put(pending.trackingId(), EmployeeWriteStatus.failed(pending.trackingId(), employee, exception.getMessage()));
+            return;
+        }
+        statuses.put(pending.trackingId(), EmployeeWriteStatus.of(pending.trackingId(), result));
+    }
+
+    // a rolled-back batch leaves its sequence ids on the entities it persisted, so every attempt starts from a copy
+    private static Employee copyOf(Employee employee) {
+        return new Employee(null, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+
+    private record PendingCreate(String trackingId, Employee employee) {
+    }
+}
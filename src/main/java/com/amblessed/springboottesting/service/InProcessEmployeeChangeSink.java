@@ -0,0 +1,31 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Hands each change to the {@code @EventListener}s of this application, one at a time on the relay thread.
+ * A listener that throws fails the batch, so it is delivered again.
+ */
+@AllArgsConstructor
+public class InProcessEmployeeChangeSink implements EmployeeChangeSink {
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<EmployeeChangeEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
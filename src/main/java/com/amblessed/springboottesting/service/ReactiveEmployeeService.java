@@ -0,0 +1,36 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking mirror of {@link EmployeeService}: same operations, same exceptions, delivered through Mono and Flux.
+ * A missing employee is an empty Mono where the blocking service returns an empty Optional.
+ */
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Mono<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees);
+    Flux<Employee> getAllEmployees();
+    Mono<EmployeePage> getEmployeesPage(String cursor, Integer limit);
+    Mono<String> getEmployeesVersion();
+    Flux<Employee> exportEmployees();
+    Mono<Employee> getEmployeeById(Long id);
+    Mono<EmployeeLookupResult> getEmployeesByIds(List<Long> ids);
+    Mono<Employee> updateEmployee(Long id, Employee updatedEmployee);
+    Mono<Void> deleteEmployeeById(Long id);
+}
@@ -0,0 +1,173 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeSyncProperties;
+import com.amblessed.springboottesting.exception.InvalidRequestException;
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.repository.ReactiveEmployeeRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.amblessed.springboottesting.service.EmployeeServiceImpl.DEFAULT_PAGE_SIZE;
+import static com.amblessed.springboottesting.service.EmployeeServiceImpl.IN_CLAUSE_CHUNK_SIZE;
+import static com.amblessed.springboottesting.service.EmployeeServiceImpl.MAX_PAGE_SIZE;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    private TransactionalOperator transactionalOperator;
+
+    private EmployeeSyncProperties employeeSyncProperties;
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        // as in EmployeeServiceImpl the unique constraint on email decides; there is no findByEmail pre-check
+        return employeeRepository.insert(employee)
+                .flatMap(saved -> employeeRepository.appendChanges(EmployeeChangeEvent.Type.CREATED, List.of(saved))
+                        .then(employeeRepository.incrementCollectionVersion())
+                        .thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DuplicateKeyException.class, exception -> alreadyExists(employee.getEmail()));
+    }
+
+    @Override
+    public Mono<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees) {
+        Mono<Set<String>> takenEmails = Flux.fromIterable(EmployeeServiceImpl.batchEmails(employees))
+                .buffer(IN_CLAUSE_CHUNK_SIZE)
+                .concatMap(employeeRepository::findExistingEmails)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // the same checks as EmployeeServiceImpl.saveEmployees; the created results are filled in as the rows go in
+        Mono<List<EmployeeBatchResult>> batch = takenEmails
+                .flatMap(taken -> {
+                    EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+                    List<Integer> toCreate = EmployeeServiceImpl.sortOutBatch(employees, taken, results);
+                    return Flux.fromIterable(toCreate)
+                            .concatMap(index -> employeeRepository.insert(employees.get(index))
+                                    .doOnNext(saved -> results[index] = EmployeeBatchResult.created(index, saved)))
+                            .collectList()
+                            .flatMap(created -> employeeRepository.appendChanges(EmployeeChangeEvent.Type.CREATED, created))
+                            .then(employeeRepository.incrementCollectionVersion())
+                            .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+                });
+        // the one multi-statement write on this stack; like EmployeeServiceImpl it may not outlast maxWriteTime,
+        // and the timeout error rolls it back
+        Duration maxWriteTime = employeeSyncProperties.maxWriteTime();
+        if (!maxWriteTime.isZero()) {
+            batch = batch.timeout(maxWriteTime);
+        }
+        return batch.as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAllOrderById();
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeesPage(String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return Mono.fromCallable(() -> cursor == null || cursor.isBlank() ? 0L : EmployeeCursor.decode(cursor))
+                // fetch one extra row to learn whether another page exists without issuing a COUNT query
+                .flatMap(lastSeenId -> employeeRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, pageSize + 1).collectList())
+                .map(employees -> {
+                    if (employees.size() <= pageSize) {
+                        return new EmployeePage(employees, null);
+                    }
+                    List<Employee> page = employees.subList(0, pageSize);
+                    return new EmployeePage(List.copyOf(page), EmployeeCursor.encode(page.get(pageSize - 1).getId()));
+                });
+    }
+
+    @Override
+    public Mono<String> getEmployeesVersion() {
+        return employeeRepository.findCollectionVersion().map(String::valueOf);
+    }
+
+    @Override
+    public Flux<Employee> exportEmployees() {
+        return employeeRepository.findAllOrderById();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<EmployeeLookupResult> getEmployeesByIds(List<Long> ids) {
+        return Mono.fromCallable(() -> EmployeeServiceImpl.requestedIds(ids))
+                .flatMap(requestedIds -> Flux.fromIterable(requestedIds)
+                        .buffer(IN_CLAUSE_CHUNK_SIZE)
+                        .concatMap(employeeRepository::findAllById)
+                        .collectList()
+                        .map(found -> EmployeeServiceImpl.lookupResult(requestedIds, found)));
+    }
+
+    @Override
+    // as in EmployeeServiceImpl, updatedEmployee's version is the one the caller read and null updates unconditionally
+    public Mono<Employee> updateEmployee(Long id, Employee updatedEmployee) {
+        Long expectedVersion = updatedEmployee.getVersion();
+        return employeeRepository.updateEmployeeById(id, expectedVersion, updatedEmployee.getFirstName(),
+                        updatedEmployee.getLastName(), updatedEmployee.getEmail())
+                .onErrorMap(DuplicateKeyException.class, exception -> alreadyExists(updatedEmployee.getEmail()))
+                .flatMap(updated -> employeeRepository.appendChanges(EmployeeChangeEvent.Type.UPDATED, List.of(updated))
+                        .then(employeeRepository.incrementCollectionVersion())
+                        .thenReturn(updated))
+                // only a failed conditional update pays for telling a stale version apart from a missing employee
+                .switchIfEmpty(Mono.defer(() -> (expectedVersion == null ? Mono.just(false) : employeeRepository.existsById(id))
+                        .flatMap(exists -> Mono.<Employee>error(exists
+                                ? new StaleVersionException("Employee with id: " + id + " is no longer at version " + expectedVersion)
+                                : new ResourceNotFoundException("Employee with id: " + id + " not found")))))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployeeById(Long id) {
+        return employeeRepository.deleteEmployeeById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Employee with id: " + id + " not found"))
+                        : employeeRepository.appendChanges(EmployeeChangeEvent.Type.DELETED, List.of(new Employee(id, null, null, null)))
+                                .then(employeeRepository.incrementCollectionVersion())
+                                .then())
+                .as(transactionalOperator::transactional);
+    }
+
+    private static ResourceAlreadyExistsException alreadyExists(String email) {
+        return new ResourceAlreadyExistsException("Employee with given email: " + email + " already exists");
+    }
+}
@@ -0,0 +1,88 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
+import com.amblessed.springboottesting.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-modify-write of an employee for internal callers, under optimistic concurrency.
+ * <p>
+ * Each attempt reads the current employee, applies {@code change} to a copy and writes it back only if the version
+ * is still the one read; when another writer got there first the attempt starts over from a fresh read. No row is
+ * locked while {@code change} runs, so writers of different employees never wait on each other and writers of the
+ * same one only repeat their own work. Between attempts the caller backs off for a random time that doubles with
+ * each attempt, which spreads out the writers colliding on a hot employee. {@code change} may run several times
+ * and must not have side effects.
+ */
+@Service
+@AllArgsConstructor
+public class RetryingEmployeeUpdater implements MeterBinder {
+
+    static final int MAX_ATTEMPTS = 10;
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private EmployeeService employeeService;
+
+    private final LongAdder retries = new LongAdder();
+
+    // throws the last StaleVersionException once MAX_ATTEMPTS attempts have all lost
+    public Employee update(Long id, UnaryOperator<Employee> change) {
+        for (int attempt = 1; ; attempt++) {
+            Employee current = employeeService.getEmployeeById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee with id: " + id + " not found"));
+            // concurrent lookups of the same id share one instance, so the change is applied to a copy
+            Employee updated = change.apply(Employee.builder()
+                    .firstName(current.getFirstName())
+                    .lastName(current.getLastName())
+                    .email(current.getEmail())
+                    .build());
+            updated.setVersion(current.getVersion());
+            try {
+                return employeeService.updateEmployee(id, updated);
+            } catch (StaleVersionException exception) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw exception;
+                }
+                retries.increment();
+                backOff(attempt, exception);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.update.retries", retries, LongAdder::sum)
+                .description("Optimistic employee updates repeated because another writer changed the employee first")
+                .register(registry);
+    }
+
+    private static void backOff(int attempt, StaleVersionException conflict) {
+        long ceiling = Math.min(MAX_BACKOFF_NANOS, INITIAL_BACKOFF_NANOS << Math.min(attempt, 20));
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
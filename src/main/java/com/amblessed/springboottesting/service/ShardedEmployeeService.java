@@ -0,0 +1,180 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.FeatureNotSupportedException;
+import com.amblessed.springboottesting.exception.InvalidRequestException;
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.repository.ShardedEmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.amblessed.springboottesting.service.EmployeeServiceImpl.MAX_PAGE_SIZE;
+import static com.amblessed.springboottesting.service.EmployeeServiceImpl.SERVICE_TIMER;
+
+/**
+ * {@link EmployeeService} over {@link ShardedEmployeeRepository}, in place of {@link EmployeeServiceImpl} once
+ * {@code employee.sharding.shards[0].url} is set. Requests are validated and answered as by EmployeeServiceImpl.
+ * <p>
+ * A write commits on the shards it touches and not in the primary database, so it appends nothing to the outbox;
+ * EmployeeShardingConfig refuses to start while the outbox relay is enabled rather than let the change stream and
+ * its sinks go quiet. Delta sync is not offered either, and answers 501: every shard numbers its changes from its
+ * own sequence, and a moved bucket brings the numbers of its old shard along, so no token can say how far a client
+ * has got.
+ */
+public class ShardedEmployeeService implements EmployeeService {
+
+    private final ShardedEmployeeRepository shardedEmployeeRepository;
+
+    public ShardedEmployeeService(ShardedEmployeeRepository shardedEmployeeRepository) {
+        this.shardedEmployeeRepository = shardedEmployeeRepository;
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Employee saveEmployee(Employee employee) {
+        requireFields(employee);
+        try {
+            return shardedEmployeeRepository.save(employee);
+        } catch (DuplicateKeyException exception) {
+            throw new ResourceAlreadyExistsException("Employee with given email: " + employee.getEmail() + " already exists");
+        }
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        // the created ones are filled in once the shards have written them
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        List<Integer> toCreate = EmployeeServiceImpl.sortOutBatch(employees, shardedEmployeeRepository::findExistingEmails, results);
+        List<Employee> created;
+        try {
+            created = shardedEmployeeRepository.saveAll(toCreate.stream().map(employees::get).toList());
+        } catch (DuplicateKeyException exception) {
+            throw new ResourceAlreadyExistsException(
+                    "An email in the batch was created by another request meanwhile; shards that had already written their rows keep them");
+        }
+        for (int position = 0; position < created.size(); position++) {
+            int index = toCreate.get(position);
+            results[index] = EmployeeBatchResult.created(index, created.get(position));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Employee> getAllEmployees() {
+        return shardedEmployeeRepository.findAll();
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public EmployeePage getEmployeesPage(String cursor, Integer limit) {
+        int pageSize = EmployeeServiceImpl.pageSize(limit);
+        long lastSeenId = cursor == null || cursor.isBlank() ? 0L : EmployeeCursor.decode(cursor);
+
+        List<Employee> employees = shardedEmployeeRepository.findByIdGreaterThan(lastSeenId, pageSize + 1);
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+        List<Employee> page = employees.subList(0, pageSize);
+        return new EmployeePage(List.copyOf(page), EmployeeCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public String getEmployeesVersion() {
+        return String.valueOf(shardedEmployeeRepository.findCollectionVersion());
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public EmployeeChanges getEmployeeChanges(String since, Integer limit) {
+        throw new FeatureNotSupportedException("Delta sync is not available on the sharded employee store");
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    // page by page, so heap use stays flat however many rows the shards hold
+    public void exportEmployees(Consumer<Employee> consumer) {
+        long lastSeenId = 0L;
+        List<Employee> page;
+        do {
+            page = shardedEmployeeRepository.findByIdGreaterThan(lastSeenId, MAX_PAGE_SIZE);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                lastSeenId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == MAX_PAGE_SIZE);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Optional<Employee> getEmployeeById(Long id) {
+        return shardedEmployeeRepository.findById(id);
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        List<Long> requestedIds = EmployeeServiceImpl.requestedIds(ids);
+        return EmployeeServiceImpl.lookupResult(requestedIds, shardedEmployeeRepository.findAllById(requestedIds));
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public Employee updateEmployee(Long id, Employee updatedEmployee) {
+        requireFields(updatedEmployee);
+        Long expectedVersion = updatedEmployee.getVersion();
+        Optional<Employee> updated;
+        try {
+            updated = shardedEmployeeRepository.updateEmployeeById(id, expectedVersion, updatedEmployee.getFirstName(),
+                    updatedEmployee.getLastName(), updatedEmployee.getEmail());
+        } catch (DuplicateKeyException exception) {
+            throw new ResourceAlreadyExistsException("Employee with given email: " + updatedEmployee.getEmail() + " already exists");
+        }
+        if (updated.isEmpty()) {
+            if (expectedVersion != null && shardedEmployeeRepository.findById(id).isPresent()) {
+                throw new StaleVersionException("Employee with id: " + id + " is no longer at version " + expectedVersion);
+            }
+            throw new ResourceNotFoundException("Employee with id: " + id + " not found");
+        }
+        return updated.get();
+    }
+
+    @Override
+    @Timed(SERVICE_TIMER)
+    public void deleteEmployeeById(Long id) {
+        if (shardedEmployeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee with id: " + id + " not found");
+        }
+    }
+
+    // the primary store leaves these to its NOT NULL columns; here the email is hashed to pick a shard before any
+    // database sees the row
+    private static void requireFields(Employee employee) {
+        String missingField = EmployeeServiceImpl.missingField(employee);
+        if (missingField != null) {
+            throw new InvalidRequestException(missingField + " is required");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- pooled ids: Employee allocates sequence values in blocks of 50
+CREATE SEQUENCE tbl_employees_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tbl_employees
+(
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_tbl_employees PRIMARY KEY (id),
+    CONSTRAINT uk_tbl_employees_email UNIQUE (email)
+);
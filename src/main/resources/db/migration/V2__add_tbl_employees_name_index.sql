@@ -0,0 +1,2 @@
+-- serves the findByFirstNameAndLastName* lookups in EmployeeRepository, which otherwise scan the whole table
+CREATE INDEX idx_tbl_employees_name ON tbl_employees (first_name, last_name);
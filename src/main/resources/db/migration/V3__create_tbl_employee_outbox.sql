@@ -0,0 +1,18 @@
+-- one row per committed employee change, written in the same transaction as the change itself;
+-- INCREMENT BY 1 and no client-side pooling, so a later change of the same employee always gets a higher id
+CREATE SEQUENCE tbl_employee_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE tbl_employee_outbox
+(
+    id           BIGINT                   NOT NULL,
+    employee_id  BIGINT                   NOT NULL,
+    change_type  VARCHAR(16)              NOT NULL,
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    email        VARCHAR(255),
+    occurred_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_tbl_employee_outbox PRIMARY KEY (id)
+);
+-- the relay reads "published_at IS NULL ORDER BY id" and the clean-up deletes by published_at
+CREATE INDEX idx_tbl_employee_outbox_published ON tbl_employee_outbox (published_at, id);
@@ -0,0 +1,21 @@
+-- change_version orders every create, update and delete of an employee for delta sync. The database assigns it,
+-- so updates made by Hibernate, by the bulk JPQL update, by the reactive repository and by the sharded store are all
+-- versioned alike, a shard from its own copy of the sequence; existing rows are numbered by the ALTER itself.
+CREATE SEQUENCE tbl_employees_change_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE tbl_employees ADD COLUMN change_version BIGINT DEFAULT NEXT VALUE FOR tbl_employees_change_seq NOT NULL;
+ALTER TABLE tbl_employees ALTER COLUMN change_version SET ON UPDATE NEXT VALUE FOR tbl_employees_change_seq;
+ALTER TABLE tbl_employees ADD COLUMN last_modified TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tbl_employees ALTER COLUMN last_modified SET ON UPDATE CURRENT_TIMESTAMP;
+CREATE INDEX idx_tbl_employees_change_version ON tbl_employees (change_version);
+
+-- one row per deleted employee, versioned from the same sequence so deletes sort among the other changes;
+-- ids come from a sequence and are never reused, so an employee id identifies its tombstone
+CREATE TABLE tbl_employee_tombstones
+(
+    employee_id    BIGINT                   NOT NULL,
+    change_version BIGINT                   DEFAULT NEXT VALUE FOR tbl_employees_change_seq NOT NULL,
+    deleted_at     TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_tbl_employee_tombstones PRIMARY KEY (employee_id)
+);
+CREATE INDEX idx_tbl_employee_tombstones_change_version ON tbl_employee_tombstones (change_version);
@@ -0,0 +1,3 @@
+-- optimistic-lock version of each employee, managed by Hibernate through @Version and bumped by every bulk,
+-- reactive and sharded update; unlike change_version it only counts the updates of its own row
+ALTER TABLE tbl_employees ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,7 @@
+-- position of each change in the order the relay delivers them, drawn just before the relay hands a batch to the
+-- sinks. Outbox ids are drawn when a change is written, not when it commits, so a late commit can get a lower id
+-- than a change already streamed; change stream clients resume by this position instead, which only grows.
+CREATE SEQUENCE tbl_employee_outbox_published_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE tbl_employee_outbox ADD COLUMN published_seq BIGINT;
+CREATE UNIQUE INDEX idx_tbl_employee_outbox_published_seq ON tbl_employee_outbox (published_seq);
@@ -0,0 +1,10 @@
+-- version of the employee list for its ETag. Every write transaction increments the single row just before it
+-- commits, so the version moves with each committed change, in commit order, and reading it is one primary-key
+-- lookup however large tbl_employees grows
+CREATE TABLE tbl_employee_collection_version
+(
+    id      INT    NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_tbl_employee_collection_version PRIMARY KEY (id)
+);
+INSERT INTO tbl_employee_collection_version (id, version) VALUES (1, 0);
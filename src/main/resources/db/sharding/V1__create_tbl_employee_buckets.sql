@@ -0,0 +1,7 @@
+-- bucket -> shard catalog of the sharded employee store; only shard 0's copy is read and written
+CREATE TABLE tbl_employee_buckets
+(
+    bucket INT NOT NULL,
+    shard  INT NOT NULL,
+    CONSTRAINT pk_tbl_employee_buckets PRIMARY KEY (bucket)
+);
@@ -0,0 +1,11 @@
+-- email -> employee directory of the sharded employee store. Each email is claimed on the shard owning the email's
+-- bucket, wherever the row itself lives: a row keeps the bucket of the email it was created with, so after an email
+-- change only this primary key still sees every email that hashes to the bucket. bucket is kept for the rebalancer
+CREATE TABLE tbl_employee_emails
+(
+    email       VARCHAR(255) NOT NULL,
+    bucket      INT          NOT NULL,
+    employee_id BIGINT       NOT NULL,
+    CONSTRAINT pk_tbl_employee_emails PRIMARY KEY (email)
+);
+CREATE INDEX idx_tbl_employee_emails_bucket ON tbl_employee_emails (bucket);
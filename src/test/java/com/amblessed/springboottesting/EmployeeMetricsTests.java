@@ -0,0 +1,126 @@
+package com.amblessed.springboottesting;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that a request leaves a timer in every layer and that error outcomes are counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // metrics export, and with it the Prometheus registry, is off in tests by default
+class EmployeeMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Faker faker = new Faker();
+
+    @Test
+    @DisplayName("Metrics - lookup of an unknown id is timed in controller, service and repository")
+    void givenUnknownEmployeeId_whenGetEmployeeById_thenTimeEveryLayer() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Long unknownId = 987654321L;
+
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/v1/employees/{id}", unknownId)).andExpect(status().isNotFound());
+
+        //then (or Assert)
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", "/api/v1/employees/{id}").tag("status", "404").timer().count()).isPositive();
+        assertThat(meterRegistry.get("employee.service").tag("method", "getEmployeeById").timer().count()).isPositive();
+        assertThat(meterRegistry.get("spring.data.repository.invocations").tag("repository", "EmployeeRepository").tag("method", "findById").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Metrics - delete of an unknown id is counted as 404")
+    void givenUnknownEmployeeId_whenDeleteEmployee_thenCountNotFound() throws Exception {
+        //given (or Arrange) - precondition or setup
+        double notFoundBefore = errorCount("404");
+
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(delete("/api/v1/employees/{id}", 987654321L)).andExpect(status().isNotFound());
+
+        //then (or Assert)
+        assertThat(errorCount("404") - notFoundBefore).isEqualTo(1.0);
+        assertThat(meterRegistry.get("employee.api.errors").tag("status", "404")
+                .tag("exception", "ResourceNotFoundException").tag("uri", "/api/v1/employees/{id}").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Metrics - duplicate email is counted as 409")
+    void givenExistingEmail_whenCreateEmployee_thenCountConflict() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build();
+        String body = objectMapper.writeValueAsString(employee);
+        mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isCreated());
+        double conflictsBefore = errorCount("409");
+
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isConflict());
+
+        //then (or Assert)
+        assertThat(errorCount("409") - conflictsBefore).isEqualTo(1.0);
+        assertThat(meterRegistry.get("employee.api.errors").tag("status", "409")
+                .tag("exception", "ResourceAlreadyExistsException").tag("uri", "/api/v1/employees").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Metrics - Prometheus endpoint exposes histogram buckets for every layer")
+    void givenTimedRequest_whenScrapePrometheus_thenExposeHistogramBucketsPerLayer() throws Exception {
+        //given (or Arrange) - precondition or setup
+        mockMvc.perform(get("/api/v1/employees/{id}", 1L));
+
+        //when (or Act) - action or the behaviour that we are going test
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then (or Assert)
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("employee_service_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("application=\"springboot-testing\"");
+    }
+
+    private double errorCount(String status) {
+        return meterRegistry.find("employee.api.errors").tag("status", status).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
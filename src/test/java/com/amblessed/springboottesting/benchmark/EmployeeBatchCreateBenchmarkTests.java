@@ -0,0 +1,116 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import net.datafaker.Faker;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares onboarding N employees through N single POSTs with one POST to /batch.
+ * Run with: mvn test -Pbenchmark -Dtest=EmployeeBatchCreateBenchmarkTests [-Dbenchmark.employees=5000]
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeBatchCreateBenchmarkTests {
+
+    private static final int EMPLOYEES = Integer.getInteger("benchmark.employees", 2000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Faker faker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        faker = new Faker();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Batch create versus N single creates")
+    void givenManyEmployees_whenCreatedAsBatch_thenFarFewerStatementsAndLessTimeThanSingleCreates() throws Exception {
+        //given (or Arrange) - precondition or setup
+        List<Employee> singles = newEmployees();
+        List<Employee> batch = newEmployees();
+
+        //when (or Act) - N single POSTs
+        statistics.clear();
+        long singleStart = System.nanoTime();
+        for (Employee employee : singles) {
+            mockMvc.perform(post("/api/v1/employees")
+                            .content(objectMapper.writeValueAsString(employee))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isCreated());
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        //when (or Act) - one batch POST
+        statistics.clear();
+        long batchStart = System.nanoTime();
+        mockMvc.perform(post("/api/v1/employees/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(EMPLOYEES));
+        long batchNanos = System.nanoTime() - batchStart;
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("%n%-22s %10s %12s %14s%n", "mode", "employees", "statements", "elapsed (ms)");
+        System.out.printf("%-22s %10d %12d %14d%n", "N single POSTs", EMPLOYEES, singleStatements, singleNanos / 1_000_000);
+        System.out.printf("%-22s %10d %12d %14d%n%n", "one POST /batch", EMPLOYEES, batchStatements, batchNanos / 1_000_000);
+
+        //then (or Assert)
+        assertThat(batchStatements).isLessThan(singleStatements / 10);
+        assertThat(batchNanos).isLessThan(singleNanos);
+    }
+
+    private List<Employee> newEmployees() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder()
+                    .firstName(faker.name().firstName())
+                    .lastName(faker.name().lastName())
+                    .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,102 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.SpringbootTestingApplication;
+import com.amblessed.springboottesting.model.Employee;
+import net.datafaker.Faker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Boots the application against its own in-memory database and seeds it with Datafaker employees,
+ * for use from JMH {@code @Setup} methods; {@link #seed} alone fills the database of an already running
+ * context. First/last name pairs are unique so the single-result {@code findByFirstNameAndLastName*}
+ * queries never see more than one row.
+ */
+final class EmployeeBenchmarkDatabase implements AutoCloseable {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Employee> sample;
+
+    private EmployeeBenchmarkDatabase(ConfigurableApplicationContext context, List<Employee> sample) {
+        this.context = context;
+        this.sample = sample;
+    }
+
+    /**
+     * @param rows       number of employees to insert
+     * @param sampleSize number of the inserted employees to keep in memory as lookup keys
+     */
+    static EmployeeBenchmarkDatabase start(int rows, int sampleSize) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTestingApplication.class)
+                .web(WebApplicationType.NONE)
+                // the embedded H2 database gets a generated name, so every context starts from an empty schema
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+        List<Employee> sample = seed(context.getBean(JdbcTemplate.class), rows, sampleSize);
+        return new EmployeeBenchmarkDatabase(context, sample);
+    }
+
+    /**
+     * Inserts {@code rows} employees with ids 1..rows into an empty tbl_employees.
+     *
+     * @return the first {@code sampleSize} inserted employees
+     */
+    static List<Employee> seed(JdbcTemplate jdbcTemplate, int rows, int sampleSize) {
+        Faker faker = new Faker();
+        Set<String> names = new HashSet<>();
+        List<Employee> sample = new ArrayList<>(sampleSize);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            String firstName;
+            String lastName;
+            do {
+                firstName = faker.name().firstName();
+                lastName = faker.name().lastName();
+            } while (!names.add(firstName + '\u0000' + lastName));
+            String email = UUID.randomUUID() + "@" + faker.internet().domainName();
+            batch.add(new Object[]{id, firstName, lastName, email});
+            if (sample.size() < sampleSize) {
+                sample.add(new Employee(id, firstName, lastName, email));
+            }
+            if (batch.size() == INSERT_BATCH_SIZE || id == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO tbl_employees (id, first_name, last_name, email) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        // keep ids handed out by Hibernate's pooled sequence clear of the seeded ones
+        jdbcTemplate.execute("ALTER SEQUENCE tbl_employees_seq RESTART WITH " + (rows + 100));
+        return List.copyOf(sample);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<Employee> sample() {
+        return sample;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
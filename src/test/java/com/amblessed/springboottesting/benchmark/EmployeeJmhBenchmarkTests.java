@@ -0,0 +1,111 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JMH benchmarks in this package, writes the results to target/jmh/results.json and fails when
+ * a benchmark got slower than the baseline by more than the tolerance. A baseline is simply the
+ * results.json of an earlier run, e.g. from the main branch.
+ * <p>
+ * Run with: mvn test -Pbenchmark -Dtest=EmployeeJmhBenchmarkTests
+ * [-Dbenchmark.jmh.include=Repository] [-Dbenchmark.jmh.rowCount=1000]
+ * [-Dbenchmark.jmh.baseline=path/to/results.json] [-Dbenchmark.jmh.tolerance=0.25]
+ */
+@Tag("benchmark")
+class EmployeeJmhBenchmarkTests {
+
+    private static final Path RESULTS = Path.of("target", "jmh", "results.json");
+    private static final Path BASELINE = Path.of(System.getProperty("benchmark.jmh.baseline", "src/test/resources/benchmark/jmh-baseline.json"));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("benchmark.jmh.tolerance", "0.25"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("JMH benchmarks stay within tolerance of the baseline")
+    void givenBaseline_whenRunBenchmarks_thenNoBenchmarkRegressesBeyondTolerance() throws RunnerException, IOException {
+        //given (or Arrange) - precondition or setup
+        Files.createDirectories(RESULTS.getParent());
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(EmployeeJmhBenchmarkTests.class.getPackageName() + ".*" + System.getProperty("benchmark.jmh.include", "Benchmarks"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTS.toString());
+        String rowCount = System.getProperty("benchmark.jmh.rowCount");
+        if (rowCount != null) {
+            options.param("rowCount", rowCount.split(","));
+        }
+
+        //when (or Act) - action or the behaviour that we are going test
+        new Runner(options.build()).run();
+
+        //then (or Assert)
+        Map<String, Double> current = readScores(RESULTS);
+        assertThat(current).isNotEmpty();
+        if (!Files.exists(BASELINE)) {
+            System.out.printf("%nNo JMH baseline at %s; copy %s there to compare future runs against this one.%n%n", BASELINE, RESULTS);
+            return;
+        }
+        Map<String, Double> baseline = readScores(BASELINE);
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%n%-100s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        current.forEach((benchmark, score) -> {
+            Double previous = baseline.get(benchmark);
+            if (previous == null) {
+                return;
+            }
+            double change = (score - previous) / previous;
+            System.out.printf("%-100s %14.3f %14.3f %+8.1f%%%n", benchmark, previous, score, change * 100);
+            // every benchmark here measures time per operation, so a higher score is slower
+            if (change > TOLERANCE) {
+                regressions.add(benchmark);
+            }
+        });
+        System.out.println();
+        assertThat(regressions).as("benchmarks slower than the baseline by more than %.0f%%", TOLERANCE * 100).isEmpty();
+    }
+
+    // "benchmark name[param=value,...]" -> primary score, so runs with different parameters are never mixed up
+    private Map<String, Double> readScores(Path file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (!params.isMissingNode()) {
+                List<String> pairs = new ArrayList<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                fields.forEachRemaining(param -> pairs.add(param.getKey() + "=" + param.getValue().asText()));
+                key.append(pairs);
+            }
+            scores.put(key.toString(), result.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+}
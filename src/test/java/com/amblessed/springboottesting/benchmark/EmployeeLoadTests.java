@@ -0,0 +1,240 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-loop HTTP load test against the full stack on a random port and a seeded H2 database.
+ * <p>
+ * Requests are started on a fixed schedule regardless of how long earlier ones take, and each latency is
+ * measured from the time the request was scheduled to start rather than from when it was actually sent,
+ * so a stalled server shows up in the percentiles instead of silently lowering the request rate
+ * (coordinated omission).
+ * <p>
+ * Per endpoint it prints throughput and p50/p99/p99.9, and writes target/loadtest/summary.json plus one
+ * HdrHistogram percentile distribution (.hgrm) per endpoint, all of which can be diffed between builds.
+ * <p>
+ * Run with: mvn test -Pbenchmark -Dtest=EmployeeLoadTests [-Dloadtest.rate=200] [-Dloadtest.duration=20]
+ * [-Dloadtest.warmup=5] [-Dloadtest.rows=10000] [-Dloadtest.mix=GET_BY_ID:60,GET_PAGE:10,POST:10,PUT:10,DELETE:10]
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EmployeeLoadTests {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 20);
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 10_000);
+    private static final String MIX = System.getProperty("loadtest.mix", "GET_BY_ID:60,GET_PAGE:10,POST:10,PUT:10,DELETE:10");
+    private static final Path REPORT_DIRECTORY = Path.of("target", "loadtest");
+    // latencies above this are clamped; anything near it is a failed run anyway
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Endpoint {
+        GET_BY_ID("GET /api/v1/employees/{id}"),
+        GET_PAGE("GET /api/v1/employees?limit=50"),
+        POST("POST /api/v1/employees"),
+        PUT("PUT /api/v1/employees/{id}"),
+        DELETE("DELETE /api/v1/employees/{id}");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    // seeded rows are split: reads and updates use the lower part, deletes consume the upper part
+    private final ConcurrentLinkedQueue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+    private long readableIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tbl_employees");
+        EmployeeBenchmarkDatabase.seed(jdbcTemplate, ROWS, 0);
+        readableIds = ROWS * 4L / 5;
+        for (long id = readableIds + 1; id <= ROWS; id++) {
+            deletableIds.add(id);
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Open-loop load at a fixed arrival rate with per-endpoint latency percentiles")
+    void givenFixedArrivalRate_whenDrivingRequestMix_thenReportLatencyPercentilesPerEndpoint() throws Exception {
+        //given (or Arrange) - precondition or setup
+        List<Endpoint> schedule = weightedSchedule();
+        SplittableRandom random = new SplittableRandom(42);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long totalRequests = (long) RATE * (WARMUP_SECONDS + DURATION_SECONDS);
+        long warmupRequests = (long) RATE * WARMUP_SECONDS;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        //when (or Act) - one request per interval, never waiting for earlier responses
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = schedule.get(random.nextInt(schedule.size()));
+            boolean measured = i >= warmupRequests;
+            HttpRequest request = newRequest(endpoint, random);
+            if (request == null) {
+                continue;
+            }
+            inFlight.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (measured) {
+                            histograms.get(endpoint).recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                            if (failure != null || response.statusCode() >= 400) {
+                                errors.get(endpoint).incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+
+        //then (or Assert)
+        report();
+        errors.forEach((endpoint, count) -> assertThat(count.get()).as("failed %s requests", endpoint.label).isZero());
+    }
+
+    // e.g. "GET_BY_ID:60,POST:40" -> a list with 60 GET_BY_ID and 40 POST entries to draw from
+    private static List<Endpoint> weightedSchedule() {
+        List<Endpoint> schedule = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Endpoint endpoint = Endpoint.valueOf(parts[0]);
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) {
+                schedule.add(endpoint);
+            }
+        }
+        return schedule;
+    }
+
+    private HttpRequest newRequest(Endpoint endpoint, SplittableRandom random) throws IOException {
+        String base = "http://localhost:" + port + "/api/v1/employees";
+        long id = 1 + random.nextLong(readableIds);
+        return switch (endpoint) {
+            case GET_BY_ID -> HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+            case GET_PAGE -> HttpRequest.newBuilder(URI.create(base + "?limit=50")).GET().build();
+            case POST -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(newEmployee())))
+                    .build();
+            case PUT -> HttpRequest.newBuilder(URI.create(base + "/" + id))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(newEmployee())))
+                    .build();
+            case DELETE -> {
+                Long deletableId = deletableIds.poll();
+                yield deletableId == null ? null : HttpRequest.newBuilder(URI.create(base + "/" + deletableId)).DELETE().build();
+            }
+        };
+    }
+
+    // fixed names keep Datafaker off the scheduling thread; the email must be unique per request
+    private static Employee newEmployee() {
+        return Employee.builder()
+                .firstName("Load")
+                .lastName("Test")
+                .email(UUID.randomUUID() + "@loadtest.example")
+                .build();
+    }
+
+    private void report() throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        ArrayNode summary = objectMapper.createArrayNode();
+        System.out.printf("%n%-32s %9s %7s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            ObjectNode row = summary.addObject()
+                    .put("endpoint", endpoint.label)
+                    .put("requests", histogram.getTotalCount())
+                    .put("errors", errors.get(endpoint).get())
+                    .put("throughput", (double) histogram.getTotalCount() / DURATION_SECONDS)
+                    .put("p50Millis", millis(histogram.getValueAtPercentile(50)))
+                    .put("p99Millis", millis(histogram.getValueAtPercentile(99)))
+                    .put("p999Millis", millis(histogram.getValueAtPercentile(99.9)))
+                    .put("maxMillis", millis(histogram.getMaxValue()));
+            System.out.printf("%-32s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint.label,
+                    row.get("requests").asLong(), row.get("errors").asLong(), row.get("throughput").asDouble(),
+                    row.get("p50Millis").asDouble(), row.get("p99Millis").asDouble(),
+                    row.get("p999Millis").asDouble(), row.get("maxMillis").asDouble());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIRECTORY.resolve(endpoint.name() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_DIRECTORY.resolve("summary.json").toFile(), summary);
+        System.out.printf("Rate %d req/s for %ds after %ds warm-up; reports in %s%n%n", RATE, DURATION_SECONDS, WARMUP_SECONDS, REPORT_DIRECTORY);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.repository.EmployeeRepository;
+import com.amblessed.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and insert latency on a seeded table: the four name-query variants against each other,
+ * the natural-id lookup by email, and a single create through the service.
+ * Started by {@link EmployeeJmhBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class EmployeeRepositoryBenchmarks {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    @Param("10000")
+    public int rowCount;
+
+    private EmployeeBenchmarkDatabase database;
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private List<Employee> sample;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = EmployeeBenchmarkDatabase.start(rowCount, SAMPLE_SIZE);
+        employeeRepository = database.getBean(EmployeeRepository.class);
+        employeeService = database.getBean(EmployeeService.class);
+        sample = database.sample();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    // cycle through the sample so the queries do not keep hitting the same row
+    private Employee nextEmployee() {
+        Employee employee = sample.get(next);
+        next = (next + 1) % sample.size();
+        return employee;
+    }
+
+    @Benchmark
+    public Employee findByFirstNameAndLastNameIndexParams() {
+        Employee employee = nextEmployee();
+        return employeeRepository.findByFirstNameAndLastNameIndexParams(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByFirstNameAndLastNameNamedParams() {
+        Employee employee = nextEmployee();
+        return employeeRepository.findByFirstNameAndLastNameNamedParams(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByFirstNameAndLastNameNativeIndexParams() {
+        Employee employee = nextEmployee();
+        return employeeRepository.findByFirstNameAndLastNameNativeIndexParams(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByFirstNameAndLastNameNativeNamedParams() {
+        Employee employee = nextEmployee();
+        return employeeRepository.findByFirstNameAndLastNameNativeNamedParams(employee.getFirstName(), employee.getLastName());
+    }
+
+    // served from the natural-id and entity cache regions once warmed up, as in production
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail(nextEmployee().getEmail());
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        Employee template = nextEmployee();
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName(template.getFirstName())
+                .lastName(template.getLastName())
+                .email(UUID.randomUUID() + "@benchmark.example")
+                .build());
+    }
+}
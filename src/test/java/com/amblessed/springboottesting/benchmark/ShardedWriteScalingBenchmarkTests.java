@@ -0,0 +1,120 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeShardingConfig;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.repository.EmployeeShardMap;
+import com.amblessed.springboottesting.repository.ShardedEmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write throughput of {@link ShardedEmployeeRepository} over 1, 2 and 4 in-memory H2 shards, with two writers per
+ * shard. Each shard is its own database, so with a core per shard the rows per second should grow almost with the
+ * shard count; on fewer cores the numbers are printed but not checked.
+ * Run with: mvn test -Pbenchmark -Dtest=ShardedWriteScalingBenchmarkTests [-Dbenchmark.employees=20000]
+ */
+@Tag("benchmark")
+class ShardedWriteScalingBenchmarkTests {
+
+    private static final int EMPLOYEES = Integer.getInteger("benchmark.employees", 20_000);
+    private static final int WRITERS_PER_SHARD = 2;
+
+    @Test
+    @DisplayName("Write throughput grows with the number of shards")
+    void givenMoreShards_whenWritingConcurrently_thenThroughputScales() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Map<Integer, Double> rowsPerSecond = new LinkedHashMap<>();
+
+        //when (or Act) - action or the behaviour that we are going test
+        for (int shards : new int[]{1, 2, 4}) {
+            rowsPerSecond.put(shards, measure(shards));
+        }
+
+        System.out.printf("%n%-8s %10s %14s %10s%n", "shards", "employees", "rows/s", "speed-up");
+        rowsPerSecond.forEach((shards, rate) -> System.out.printf("%-8d %10d %14.0f %9.2fx%n",
+                shards, EMPLOYEES, rate, rate / rowsPerSecond.get(1)));
+        System.out.println();
+
+        //then (or Assert)
+        int cores = Runtime.getRuntime().availableProcessors();
+        rowsPerSecond.forEach((shards, rate) -> {
+            if (shards > 1 && cores >= shards * WRITERS_PER_SHARD) {
+                assertThat(rate / rowsPerSecond.get(1)).isGreaterThan(shards * 0.7);
+            }
+        });
+    }
+
+    private double measure(int shardCount) throws Exception {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        List<JdbcTemplate> shards = new ArrayList<>();
+        String run = UUID.randomUUID().toString();
+        for (int shard = 0; shard < shardCount; shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:scaling-" + run + "-" + shard + ";DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(WRITERS_PER_SHARD + 1);
+            EmployeeShardingConfig.migrate(dataSource);
+            dataSources.add(dataSource);
+            shards.add(new JdbcTemplate(dataSource));
+        }
+        int writers = shardCount * WRITERS_PER_SHARD;
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            ShardedEmployeeRepository repository = new ShardedEmployeeRepository(
+                    shards, new EmployeeShardMap(shards.get(0), shardCount), executor);
+            List<List<Employee>> slices = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                slices.add(newEmployees(EMPLOYEES / writers));
+            }
+
+            long start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (List<Employee> slice : slices) {
+                running.add(executor.submit(() -> slice.forEach(repository::save)));
+            }
+            for (Future<?> writer : running) {
+                writer.get();
+            }
+            long nanos = System.nanoTime() - start;
+
+            assertThat(repository.count()).isEqualTo((long) writers * (EMPLOYEES / writers));
+            return writers * (EMPLOYEES / writers) * 1_000_000_000.0 / nanos;
+        } finally {
+            dataSources.forEach(HikariDataSource::close);
+        }
+    }
+
+    private static List<Employee> newEmployees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .build());
+        }
+        return employees;
+    }
+}
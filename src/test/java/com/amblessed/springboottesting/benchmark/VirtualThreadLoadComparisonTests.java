@@ -0,0 +1,154 @@
+package com.amblessed.springboottesting.benchmark;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.SpringbootTestingApplication;
+import jakarta.servlet.Filter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same closed-loop load, N concurrent clients each repeating GET /api/v1/employees/{id}, against the
+ * application on Tomcat's platform-thread pool and again with the virtual-threads profile.
+ * <p>
+ * The in-memory H2 database answers in microseconds, so a filter adds a fixed blocking delay per request to stand
+ * in for the I/O of a real database or downstream call; that is what caps the platform-thread mode at roughly
+ * 200 / delay requests per second.
+ * <p>
+ * Run with: mvn test -Pbenchmark -Dtest=VirtualThreadLoadComparisonTests [-Dloadtest.clients=2000]
+ * [-Dloadtest.duration=15] [-Dloadtest.warmup=5] [-Dloadtest.ioLatencyMillis=100]
+ */
+@Tag("benchmark")
+class VirtualThreadLoadComparisonTests {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2000);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 15);
+    private static final int IO_LATENCY_MILLIS = Integer.getInteger("loadtest.ioLatencyMillis", 100);
+    private static final int ROWS = 10_000;
+
+    private record Result(String mode, long requests, long errors, Histogram latencies) {
+
+        double throughput() {
+            return (double) requests / DURATION_SECONDS;
+        }
+    }
+
+    @Test
+    @DisplayName("Platform versus virtual threads at a fixed number of concurrent clients")
+    void givenIoBoundRequests_whenManyConcurrentClients_thenVirtualThreadsServeMoreRequests() throws Exception {
+        //when (or Act) - the same load against both modes
+        Result platform = run("platform threads");
+        Result virtual = run("virtual-threads");
+
+        System.out.printf("%n%-18s %8s %10s %8s %10s %10s %10s%n", "mode", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (Result result : new Result[]{platform, virtual}) {
+            System.out.printf("%-18s %8d %10d %8d %10.1f %10.2f %10.2f%n", result.mode(), CLIENTS, result.requests(),
+                    result.errors(), result.throughput(),
+                    result.latencies().getValueAtPercentile(50) / 1_000_000.0,
+                    result.latencies().getValueAtPercentile(99) / 1_000_000.0);
+        }
+        System.out.printf("Simulated I/O latency %d ms per request, %ds measured after %ds warm-up%n%n",
+                IO_LATENCY_MILLIS, DURATION_SECONDS, WARMUP_SECONDS);
+
+        //then (or Assert)
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private Result run(String profile) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringbootTestingApplication.class, SimulatedIoLatency.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn",
+                        "server.tomcat.max-connections=" + (CLIENTS * 2));
+        if (profile.equals("virtual-threads")) {
+            builder.profiles(profile);
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            EmployeeBenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), ROWS, 0);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return drive(profile, "http://localhost:" + port + "/api/v1/employees/");
+        }
+    }
+
+    // every client sends its next request as soon as the previous one returns
+    private Result drive(String mode, String baseUrl) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        try (HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (1 + ThreadLocalRandom.current().nextInt(ROWS)))).build();
+                        long start = System.nanoTime();
+                        boolean failed;
+                        try {
+                            failed = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200;
+                        } catch (Exception exception) {
+                            failed = true;
+                        }
+                        if (start >= measureFrom) {
+                            latencies.recordValue(Math.min(System.nanoTime() - start, latencies.getHighestTrackableValue()));
+                            requests.incrementAndGet();
+                            if (failed) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(mode, requests.get(), errors.get(), latencies);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SimulatedIoLatency {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedIoLatencyFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(IO_LATENCY_MILLIS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/api/*");
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.amblessed.springboottesting.config;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two extra in-memory H2 databases stand in for replicas. They get the schema from the same migrations and are
+ * "replicated" by hand, so a row that exists only on the primary shows which database answered a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "employee.datasource.replicas[0].url=" + ReplicaRoutingTests.REPLICA_A_URL,
+        "employee.datasource.replicas[0].username=sa",
+        "employee.datasource.replicas[1].url=" + ReplicaRoutingTests.REPLICA_B_URL,
+        "employee.datasource.replicas[1].username=sa",
+        "employee.datasource.selection=round-robin",
+        "employee.datasource.read-your-writes-window=500ms"
+})
+class ReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_A_URL = "jdbc:h2:mem:routing-replica-a;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_B_URL = "jdbc:h2:mem:routing-replica-b;DB_CLOSE_DELAY=-1";
+
+    private static final String INSERT = "INSERT INTO tbl_employees (id, first_name, last_name, email) VALUES (?, ?, ?, ?)";
+    // far above anything the sequence hands out, so rows written here never collide with saved ones
+    private static final AtomicLong NEXT_ID = new AtomicLong(1_000_000_000L);
+
+    private final JdbcTemplate primary = jdbcTemplate(PRIMARY_URL);
+    private final JdbcTemplate replicaA = jdbcTemplate(REPLICA_A_URL);
+    private final JdbcTemplate replicaB = jdbcTemplate(REPLICA_B_URL);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void migrateReplicas() {
+        for (String url : List.of(REPLICA_A_URL, REPLICA_B_URL)) {
+            Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesTracker.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only lookups go to the replicas and see a row once it has been replicated")
+    void givenRowOnlyOnPrimary_whenGetEmployeeById_thenNotFoundUntilReplicated() {
+        //given - precondition or setup
+        Employee employee = insertInto(primary);
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThat(lookups(employee.getId(), 2)).containsOnly(false);
+        insertInto(replicaA, employee);
+        insertInto(replicaB, employee);
+        assertThat(lookups(employee.getId(), 2)).containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("Round-robin selection alternates between replicas")
+    void givenRowOnOneReplica_whenReadRepeatedly_thenEveryOtherReadFindsIt() {
+        //given - precondition or setup
+        Employee employee = insertInto(primary);
+        insertInto(replicaA, employee);
+
+        //when - action or the behaviour that we are going test
+        List<Boolean> found = lookups(employee.getId(), 4);
+
+        //then - verify the output
+        assertThat(found).containsExactlyInAnyOrder(true, true, false, false);
+        assertThat(found.get(0)).isNotEqualTo(found.get(1));
+    }
+
+    @Test
+    @DisplayName("A client reads its own write from the primary until the window has passed")
+    void givenFreshWrite_whenReadWithinAndAfterWindow_thenPrimaryThenReplica() throws InterruptedException {
+        //given - the write reaches the primary only
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Ada").lastName("Lovelace").email(UUID.randomUUID() + "@example.com").build());
+
+        //when - action or the behaviour that we are going test
+        boolean foundWithinWindow = lookups(employee.getId(), 1).get(0);
+        Thread.sleep(700);
+        List<Boolean> foundAfterWindow = lookups(employee.getId(), 2);
+
+        //then - verify the output
+        assertThat(foundWithinWindow).isTrue();
+        assertThat(foundAfterWindow).containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("Writes always go to the primary")
+    void givenReadOnlyReplicas_whenUpdateEmployee_thenPrimaryIsUpdated() {
+        //given - precondition or setup
+        Employee employee = insertInto(primary);
+
+        //when - action or the behaviour that we are going test
+        employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName("Grace").lastName("Hopper").email(employee.getEmail()).build());
+
+        //then - verify the output
+        assertThat(primary.queryForObject("SELECT first_name FROM tbl_employees WHERE id = ?", String.class, employee.getId()))
+                .isEqualTo("Grace");
+    }
+
+    // second-level cache entries would answer without touching any database, so each read starts cold
+    private List<Boolean> lookups(Long id, int times) {
+        List<Boolean> found = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            entityManagerFactory.getCache().evictAll();
+            found.add(employeeService.getEmployeeById(id).isPresent());
+        }
+        return found;
+    }
+
+    private static Employee insertInto(JdbcTemplate database) {
+        Employee employee = new Employee(NEXT_ID.incrementAndGet(), "John", "Doe", UUID.randomUUID() + "@example.com");
+        insertInto(database, employee);
+        return employee;
+    }
+
+    private static void insertInto(JdbcTemplate database, Employee employee) {
+        database.update(INSERT, employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+
+    private static JdbcTemplate jdbcTemplate(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
@@ -0,0 +1,167 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams over a real connection; each test resumes from Last-Event-ID 0 so the changes made before the
+ * connection was open are replayed and nothing depends on when the server registered the subscriber.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "employee.outbox.poll-interval=20ms")
+class EmployeeChangeStreamIntegrationTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("GET /api/v1/employees/stream?ids - only the changes of the requested employee, in order")
+    void givenChangesOfTwoEmployees_whenStreamFilteredById_thenOnlyThatEmployeesChanges() {
+        //given (or Arrange) - precondition or setup
+        Employee watched = employeeService.saveEmployee(newEmployee());
+        Employee other = employeeService.saveEmployee(newEmployee());
+        employeeService.updateEmployee(watched.getId(), renamed(watched));
+        employeeService.updateEmployee(other.getId(), renamed(other));
+        employeeService.deleteEmployeeById(watched.getId());
+
+        //when (or Act) - action or the behaviour that we are going test
+        List<ServerSentEvent<EmployeeChangeEvent>> events = stream(0L, watched.getId()).take(3).collectList().block(TIMEOUT);
+
+        //then (or Assert)
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("created", "updated", "deleted");
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.data().employeeId()).isEqualTo(watched.getId());
+            assertThat(event.id()).isEqualTo(String.valueOf(event.data().publishedSequence()));
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/stream with Last-Event-ID - resumes after the last event received")
+    void givenLastEventId_whenStreamResumed_thenOnlyLaterChanges() {
+        //given (or Arrange) - precondition or setup
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        employeeService.updateEmployee(employee.getId(), renamed(employee));
+        employeeService.deleteEmployeeById(employee.getId());
+        ServerSentEvent<EmployeeChangeEvent> created = stream(0L, employee.getId()).blockFirst(TIMEOUT);
+
+        //when (or Act) - action or the behaviour that we are going test
+        List<ServerSentEvent<EmployeeChangeEvent>> resumed = stream(Long.parseLong(created.id()), employee.getId())
+                .take(2).collectList().block(TIMEOUT);
+
+        //then (or Assert)
+        assertThat(created.event()).isEqualTo("created");
+        assertThat(resumed).extracting(ServerSentEvent::event).containsExactly("updated", "deleted");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/stream with Last-Event-ID - a change that committed late is still replayed")
+    void givenChangeCommittedAfterALaterOne_whenStreamResumedPastTheLaterOne_thenLateChangeReplayed() throws Exception {
+        //given (or Arrange) - the late update draws its outbox id first but commits after the other update was streamed
+        Employee late = employeeService.saveEmployee(newEmployee());
+        Employee early = employeeService.saveEmployee(newEmployee());
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> lateUpdate = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            employeeService.updateEmployee(late.getId(), renamed(late));
+            written.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(written.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+        employeeService.updateEmployee(early.getId(), renamed(early));
+        ServerSentEvent<EmployeeChangeEvent> earlyUpdate = updates(stream(0L, early.getId())).blockFirst(TIMEOUT);
+        commit.countDown();
+        lateUpdate.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        ServerSentEvent<EmployeeChangeEvent> lateUpdateRelayed = updates(stream(0L, late.getId())).blockFirst(TIMEOUT);
+
+        //when (or Act) - action or the behaviour that we are going test
+        ServerSentEvent<EmployeeChangeEvent> resumed = updates(stream(Long.parseLong(earlyUpdate.id()), late.getId())).blockFirst(TIMEOUT);
+
+        //then (or Assert)
+        assertThat(lateUpdateRelayed.data().sequence()).isLessThan(earlyUpdate.data().sequence());
+        assertThat(resumed.data().sequence()).isEqualTo(lateUpdateRelayed.data().sequence());
+        assertThat(Long.parseLong(resumed.id())).isGreaterThan(Long.parseLong(earlyUpdate.id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/stream - changes made while connected arrive live")
+    void givenOpenStream_whenEmployeeUpdated_thenUpdateArrivesLive() {
+        //given (or Arrange) - precondition or setup
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        Flux<ServerSentEvent<EmployeeChangeEvent>> stream = stream(0L, employee.getId())
+                .doOnNext(event -> {
+                    if ("created".equals(event.event())) {
+                        employeeService.updateEmployee(employee.getId(), renamed(employee));
+                    }
+                });
+
+        //when (or Act) - action or the behaviour that we are going test
+        List<ServerSentEvent<EmployeeChangeEvent>> events = stream.take(2).collectList().block(TIMEOUT);
+
+        //then (or Assert)
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("created", "updated");
+        assertThat(events.get(1).data().employee().getFirstName()).isEqualTo("Renamed");
+    }
+
+    // heartbeats are comments without data and are left out
+    private Flux<ServerSentEvent<EmployeeChangeEvent>> stream(long lastEventId, long employeeId) {
+        return WebClient.create("http://localhost:" + port).get()
+                .uri("/api/v1/employees/stream?ids={id}", employeeId)
+                .header("Last-Event-ID", String.valueOf(lastEventId))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<EmployeeChangeEvent>>() {})
+                .filter(event -> event.data() != null);
+    }
+
+    private static Flux<ServerSentEvent<EmployeeChangeEvent>> updates(Flux<ServerSentEvent<EmployeeChangeEvent>> stream) {
+        return stream.filter(event -> "updated".equals(event.event()));
+    }
+
+    private static Employee renamed(Employee employee) {
+        return Employee.builder().firstName("Renamed").lastName(employee.getLastName()).email(employee.getEmail()).build();
+    }
+
+    private static Employee newEmployee() {
+        return Employee.builder().firstName("John").lastName("Doe").email(UUID.randomUUID() + "@example.com").build();
+    }
+}
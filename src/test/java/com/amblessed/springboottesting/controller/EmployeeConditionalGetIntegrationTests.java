@@ -0,0 +1,175 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.select;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs: the saving is measured as the bytes sent and the employees Hibernate had to load.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.Config.class)
+class EmployeeConditionalGetIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(newEmployee());
+        }
+        employeeService.saveEmployees(employees);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/{id} - a matching If-None-Match is answered with an empty 304 until the employee changes")
+    void givenEmployeeETag_whenGetEmployeeById_thenNotModifiedUntilUpdated() throws Exception {
+        //given - precondition or setup
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        MockHttpServletResponse first = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when - action or the behaviour that we are going test
+        MockHttpServletResponse unchanged = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        employeeService.updateEmployee(employee.getId(),
+                Employee.builder().firstName("Grace").lastName("Hopper").email(employee.getEmail()).build());
+        MockHttpServletResponse changed = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        //then - verify the output
+        assertThat(etag).isEqualTo("\"0\"");
+        assertThat(first.getContentAsByteArray()).isNotEmpty();
+        assertThat(unchanged.getContentAsByteArray()).isEmpty();
+        assertThat(unchanged.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1\"");
+        assertThat(changed.getContentAsString()).contains("Grace");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/{id} - once the employee is cached, a 304 is answered from the second-level cache without a query")
+    void givenCachedEmployee_whenGetEmployeeByIdWithETag_thenNotModifiedFromSecondLevelCache() throws Exception {
+        //given - the first read loads the employee and puts it into the second-level cache
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        String etag = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+        sqlStatementRecorder.clear();
+
+        //when - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //then - verify the output
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        sqlStatementRecorder.assertStatements();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees - a matching If-None-Match costs one single-row read, no employee is loaded or sent")
+    void givenListETag_whenGetAllEmployees_thenNotModifiedWithoutLoading() throws Exception {
+        //given - precondition or setup
+        MockHttpServletResponse full = mockMvc.perform(get("/api/v1/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = full.getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+        sqlStatementRecorder.clear();
+
+        //when - action or the behaviour that we are going test
+        MockHttpServletResponse unchanged = mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+
+        //then - verify the output
+        assertThat(full.getContentAsByteArray().length).isGreaterThan(200 * 50);
+        assertThat(unchanged.getContentAsByteArray()).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees - the list ETag follows every create, update and delete")
+    void givenListETag_whenEmployeesChange_thenETagChanges() throws Exception {
+        //given - precondition or setup
+        String initial = listETag();
+
+        //when - action or the behaviour that we are going test
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        String afterCreate = listETag();
+        employeeService.updateEmployee(employee.getId(),
+                Employee.builder().firstName("Ada").lastName("Lovelace").email(employee.getEmail()).build());
+        String afterUpdate = listETag();
+        employeeService.deleteEmployeeById(employee.getId());
+        String afterDelete = listETag();
+
+        //then - verify the output
+        assertThat(List.of(initial, afterCreate, afterUpdate, afterDelete)).doesNotHaveDuplicates();
+        mockMvc.perform(get("/api/v1/employees").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, afterUpdate))
+                .andExpect(status().isOk());
+    }
+
+    private String listETag() throws Exception {
+        return mockMvc.perform(get("/api/v1/employees").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static Employee newEmployee() {
+        return Employee.builder().firstName("John").lastName("Doe").email(UUID.randomUUID() + "@example.com").build();
+    }
+}
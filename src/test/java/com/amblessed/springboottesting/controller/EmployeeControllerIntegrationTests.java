@@ -0,0 +1,201 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.support.SqlStatementRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.insert;
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.select;
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.update;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack requests against H2 with a statement budget per endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.Config.class)
+class EmployeeControllerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Faker faker = new Faker();
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeService.saveEmployee(newEmployee());
+        entityManagerFactory.getCache().evictAll();
+        sqlStatementRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/employees - one INSERT plus the outbox row, the row read back for its database-assigned columns and the collection version bumped")
+    void givenEmployee_whenCreateEmployee_thenOneInsert() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.changeVersion").isNumber())
+                .andExpect(jsonPath("$.lastModified").isNotEmpty());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(select(1), insert(2), update(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/employees with a taken email - the failed INSERT is the only statement")
+    void givenExistingEmail_whenCreateEmployee_thenOneInsertAnd409() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee duplicate = newEmployee();
+        duplicate.setEmail(employee.getEmail());
+
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isConflict());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(insert(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/{id} - one SELECT")
+    void givenEmployeeId_whenGetEmployeeById_thenOneSelect() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())).andExpect(status().isOk());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees?limit - the collection version for the ETag plus one SELECT")
+    void givenLimit_whenGetEmployeesPage_thenOneSelect() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/v1/employees").param("limit", "20")).andExpect(status().isOk());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(select(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees?ids - one SELECT")
+    void givenIds_whenGetEmployeesByIds_thenOneSelect() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/v1/employees").param("ids", employee.getId() + ",-1")).andExpect(status().isOk());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/employees/{id} - one UPDATE plus the outbox row and the collection version bumped")
+    void givenUpdatedEmployee_whenUpdateEmployee_thenOneUpdate() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + employee.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isOk());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(update(2), insert(1));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/employees/{id} with If-Match: * - the response carries the written version as its ETag and the full row")
+    void givenIfMatchAny_whenUpdateEmployee_thenETagAndDatabaseAssignedColumnsReturned() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changeVersion").isNumber())
+                .andExpect(jsonPath("$.lastModified").isNotEmpty())
+                .andReturn();
+
+        //then (or Assert) - read back in the same statement as the UPDATE, not by a SELECT
+        sqlStatementRecorder.assertStatements(update(2), insert(1));
+        Employee stored = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + stored.getVersion() + "\"");
+        assertThat(objectMapper.readValue(result.getResponse().getContentAsString(), Employee.class).getChangeVersion())
+                .isEqualTo(stored.getChangeVersion());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/employees/{id} with an unknown id - one UPDATE, one existence check and 404")
+    void givenUnknownId_whenUpdateEmployee_thenOneUpdateAnd404() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(put("/api/v1/employees/{id}", -1L)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isNotFound());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(update(1), select(1));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/employees/{id} - one DELETE, its tombstone, the outbox row and the collection version bumped")
+    void givenEmployeeId_whenDeleteEmployee_thenOneDelete() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        mockMvc.perform(delete("/api/v1/employees/{id}", employee.getId())).andExpect(status().isOk());
+
+        //then (or Assert)
+        sqlStatementRecorder.assertStatements(SqlStatementRecorder.delete(1), insert(2), update(1));
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
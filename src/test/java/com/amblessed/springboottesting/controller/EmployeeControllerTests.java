@@ -9,9 +9,17 @@ package com.amblessed.springboottesting.controller;
  */
 
 
+import com.amblessed.springboottesting.exception.FeatureNotSupportedException;
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.service.EmployeeChangeFeed;
 import com.amblessed.springboottesting.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.datafaker.Faker;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,27 +28,44 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
+@Import(SimpleMeterRegistry.class) // GlobalExceptionHandler counts error responses
 class EmployeeControllerTests {
 
     @Autowired
@@ -49,6 +74,9 @@ class EmployeeControllerTests {
     @MockitoBean
     private EmployeeService employeeService;
 
+    @MockitoBean
+    private EmployeeChangeFeed employeeChangeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -112,6 +140,72 @@ class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @Test
+    @DisplayName("JUnit test for Batch Create Employees")
+    void givenListOfEmployees_whenCreateEmployees_thenReturnResultPerEmployee() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee created = Employee.builder()
+                .id(1L)
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build();
+        Employee duplicate = Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(created.getEmail())
+                .build();
+        given(employeeService.saveEmployees(any())).willReturn(List.of(
+                EmployeeBatchResult.created(0, created),
+                EmployeeBatchResult.duplicate(1, duplicate)));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(post("/api/v1/employees/batch")
+                .content(objectMapper.writeValueAsString(List.of(created, duplicate)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].employee.id").value(1L))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Batch Create Employees - a write rolled back for running past maxWriteTime is a 503 to retry")
+    void givenWriteTimedOut_whenCreateEmployees_thenReturnStatusCode503() throws Exception {
+        //given (or Arrange) - precondition or setup
+        given(employeeService.saveEmployees(any()))
+                .willThrow(new TransactionTimedOutException("Employee write ran longer than PT2.5S, rolled back"));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(post("/api/v1/employees/batch")
+                .content("[]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Get Employee Changes - a store without delta sync answers 501")
+    void givenDeltaSyncNotSupported_whenGetEmployeeChanges_thenReturnStatusCode501() throws Exception {
+        //given (or Arrange) - precondition or setup
+        given(employeeService.getEmployeeChanges(any(), any()))
+                .willThrow(new FeatureNotSupportedException("Delta sync is not available on the sharded employee store"));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/employees/changes"));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isNotImplemented());
+    }
+
     @Test
     @DisplayName("JUnit test for Get All Employees")
     void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() throws Exception {
@@ -131,6 +225,71 @@ class EmployeeControllerTests {
                 .andExpect(jsonPath("$.size()").value(5));
     }
 
+    @Test
+    @DisplayName("JUnit test for Get Employees Page with limit")
+    void givenLimit_whenGetAllEmployees_thenReturnPageAndNextCursorHeader() throws Exception {
+        //given (or Arrange) - precondition or setup
+        List<Employee> employeesList = new ArrayList<>();
+        for (int i = 1; i <= 2; i++){
+            employeesList.add(new Employee((long) i, faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress()));
+        }
+        given(employeeService.getEmployeesPage(isNull(), eq(2))).willReturn(new EmployeePage(employeesList, "aWQ6Mg"));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/employees").param("limit", "2"));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "aWQ6Mg"))
+                .andExpect(jsonPath("$.size()").value(2));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Get Employees last Page")
+    void givenCursorOfLastPage_whenGetAllEmployees_thenReturnPageWithoutNextCursorHeader() throws Exception {
+        //given (or Arrange) - precondition or setup
+        given(employeeService.getEmployeesPage("aWQ6Mg", null)).willReturn(new EmployeePage(List.of(), null));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/employees").param("cursor", "aWQ6Mg"));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.size()").value(0));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Export Employees as NDJSON")
+    void givenEmployees_whenExportEmployees_thenStreamOneJsonDocumentPerLine() throws Exception {
+        //given (or Arrange) - precondition or setup
+        List<Employee> employeesList = new ArrayList<>();
+        for (int i = 1; i <= 3; i++){
+            employeesList.add(new Employee((long) i, faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress()));
+        }
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            employeesList.forEach(consumer);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        //when (or Act) - action or the behaviour that we are going test
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[2], Employee.class).getEmail()).isEqualTo(employeesList.get(2).getEmail());
+    }
+
     @Test
     @DisplayName("JUnit test for GET Employee By Id - Positive Scenario")
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -171,39 +330,127 @@ class EmployeeControllerTests {
                 .andExpect(status().isNotFound());
     }
 
-
     @Test
-    @DisplayName("JUnit test for update Employee - Positive Scenario")
-    void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployee() throws Exception {
+    @DisplayName("JUnit test for GET Employees By Ids - found employees and missing ids")
+    void givenListOfIds_whenGetEmployeesByIds_thenReturnFoundEmployeesAndMissingIds() throws Exception {
         //given (or Arrange) - precondition or setup
-        Long employeeId = 1L;
         Employee employee = Employee.builder()
-                .id(employeeId)
+                .id(2L)
                 .firstName(faker.name().firstName())
                 .lastName(faker.name().lastName())
                 .email(faker.internet().emailAddress())
                 .build();
+        given(employeeService.getEmployeesByIds(List.of(2L, 7L))).willReturn(new EmployeeLookupResult(List.of(employee), List.of(7L)));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/employees").param("ids", "2,7"));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.employees[0].email").value(employee.getEmail()))
+                .andExpect(jsonPath("$.missingIds[0]").value(7));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("JUnit test for POST Employees Lookup - ids in the request body")
+    void givenListOfIdsInBody_whenLookupEmployees_thenReturnFoundEmployeesAndMissingIds() throws Exception {
+        //given (or Arrange) - precondition or setup
+        List<Long> ids = List.of(3L, 4L);
+        given(employeeService.getEmployeesByIds(ids)).willReturn(new EmployeeLookupResult(List.of(), ids));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(post("/api/v1/employees/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
 
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.size()", CoreMatchers.is(0)))
+                .andExpect(jsonPath("$.missingIds.size()", CoreMatchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update Employee - Positive Scenario")
+    void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployee() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Long employeeId = 1L;
         Employee updatedEmployee = Employee.builder()
                 .firstName(faker.name().firstName())
                 .lastName(faker.name().lastName())
                 .email(faker.internet().emailAddress())
+                .version(4L)
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
         given(employeeService.updateEmployee(anyLong(), any(Employee.class))).willReturn(updatedEmployee);
 
         //when (or Act) - action or the behaviour that we are going test
         ResultActions resultActions = mockMvc.perform(put("/api/v1/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
                 .content(objectMapper.writeValueAsString(updatedEmployee))
                 .contentType(MediaType.APPLICATION_JSON));
 
         //then (or Assert)
         resultActions.andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
                 .andExpect(jsonPath("$.firstName").value(updatedEmployee.getFirstName()))
                 .andExpect(jsonPath("$.lastName").value(updatedEmployee.getLastName()))
                 .andExpect(jsonPath("$.email").value(updatedEmployee.getEmail()));
+        verify(employeeService, never()).getEmployeeById(anyLong());
+        verify(employeeService).updateEmployee(eq(employeeId), argThat(employee -> Long.valueOf(3).equals(employee.getVersion())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update Employee - no If-Match is rejected with 428")
+    void givenNoIfMatch_whenUpdateEmployee_thenReturnStatusCode428() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build();
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions resultActions = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .content(objectMapper.writeValueAsString(updatedEmployee))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        //then (or Assert)
+        resultActions.andDo(print())
+                .andExpect(status().isPreconditionRequired());
+        verify(employeeService, never()).updateEmployee(anyLong(), any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update Employee - an outdated or weak If-Match is rejected with 412")
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturnStatusCode412() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build();
+        given(employeeService.updateEmployee(anyLong(), any(Employee.class)))
+                .willThrow(new StaleVersionException("Employee with id: 1 is no longer at version 2"));
+
+        //when (or Act) - action or the behaviour that we are going test
+        ResultActions stale = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .content(objectMapper.writeValueAsString(updatedEmployee))
+                .contentType(MediaType.APPLICATION_JSON));
+        ResultActions weak = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .content(objectMapper.writeValueAsString(updatedEmployee))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        //then (or Assert)
+        stale.andExpect(status().isPreconditionFailed());
+        weak.andExpect(status().isPreconditionFailed());
+        verify(employeeService, times(1)).updateEmployee(anyLong(), any(Employee.class));
     }
 
     @Test
@@ -218,11 +465,12 @@ class EmployeeControllerTests {
                 .email(faker.internet().emailAddress())
                 .build();
 
-        given(employeeService.getEmployeeById(invalidEmployeeId)).willReturn(Optional.empty());
-        given(employeeService.updateEmployee(anyLong(), any(Employee.class))).willReturn(updatedEmployee);
+        given(employeeService.updateEmployee(anyLong(), any(Employee.class)))
+                .willThrow(new ResourceNotFoundException("Employee with id: " + invalidEmployeeId + " not found"));
 
         //when (or Act) - action or the behaviour that we are going test
         ResultActions resultActions = mockMvc.perform(put("/api/v1/employees/{id}", invalidEmployeeId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
                 .content(objectMapper.writeValueAsString(updatedEmployee))
                 .contentType(MediaType.APPLICATION_JSON));
 
@@ -236,13 +484,6 @@ class EmployeeControllerTests {
     void givenValidEmployeeId_whenDeleteEmployee_thenReturnStatusCode200() throws Exception {
         //given (or Arrange) - precondition or setup
         Long employeeId = 1L;
-        Employee employee = Employee.builder()
-                .id(employeeId)
-                .firstName(faker.name().firstName())
-                .lastName(faker.name().lastName())
-                .email(faker.internet().emailAddress())
-                .build();
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
         willDoNothing().given(employeeService).deleteEmployeeById(employeeId);
 
         //when (or Act) - action or the behaviour that we are going test
@@ -251,6 +492,7 @@ class EmployeeControllerTests {
         //then (or Assert)
         resultActions.andDo(print())
                 .andExpect(status().isOk());
+        verify(employeeService, never()).getEmployeeById(anyLong());
     }
 
     @Test
@@ -259,8 +501,8 @@ class EmployeeControllerTests {
         //given (or Arrange) - precondition or setup
         Long invalidEmployeeId = 98989898L;
 
-        given(employeeService.getEmployeeById(invalidEmployeeId)).willReturn(Optional.empty());
-        willDoNothing().given(employeeService).deleteEmployeeById(invalidEmployeeId);
+        willThrow(new ResourceNotFoundException("Employee with id: " + invalidEmployeeId + " not found"))
+                .given(employeeService).deleteEmployeeById(invalidEmployeeId);
 
         //when (or Act) - action or the behaviour that we are going test
         ResultActions resultActions = mockMvc.perform(delete("/api/v1/employees/{id}", invalidEmployeeId));
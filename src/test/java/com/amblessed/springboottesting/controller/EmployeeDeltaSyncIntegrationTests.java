@@ -0,0 +1,135 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeTombstone;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each test first syncs up to the current head, since the table is shared with other tests, and then checks
+ * that the next sync returns exactly its own changes. No settle time, so a change is synced as soon as it commits.
+ */
+@SpringBootTest(properties = "employee.sync.settle-time=0s")
+@AutoConfigureMockMvc
+class EmployeeDeltaSyncIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("GET /api/v1/employees/changes - only the employees changed and deleted since the token")
+    void givenSyncToken_whenEmployeesChange_thenOnlyChangesReturned() throws Exception {
+        //given - precondition or setup
+        Employee kept = employeeService.saveEmployee(newEmployee());
+        Employee removed = employeeService.saveEmployee(newEmployee());
+        Employee untouched = employeeService.saveEmployee(newEmployee());
+        String token = syncToHead();
+
+        //when - action or the behaviour that we are going test
+        employeeService.updateEmployee(kept.getId(),
+                Employee.builder().firstName("Grace").lastName("Hopper").email(kept.getEmail()).build());
+        employeeService.deleteEmployeeById(removed.getId());
+        EmployeeChanges changes = sync(token, null);
+
+        //then - verify the output
+        assertThat(changes.changed()).extracting(Employee::getId).containsExactly(kept.getId());
+        assertThat(changes.changed().getFirst().getFirstName()).isEqualTo("Grace");
+        assertThat(changes.changed().getFirst().getLastModified()).isNotNull();
+        assertThat(changes.deleted()).extracting(EmployeeTombstone::getEmployeeId).containsExactly(removed.getId());
+        assertThat(changes.changed()).extracting(Employee::getId).doesNotContain(untouched.getId());
+        assertThat(changes.hasMore()).isFalse();
+        EmployeeChanges nothingNew = sync(changes.nextToken(), null);
+        assertThat(nothingNew.changed()).isEmpty();
+        assertThat(nothingNew.deleted()).isEmpty();
+        assertThat(nothingNew.nextToken()).isEqualTo(changes.nextToken());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/changes?limit - changes are paged in version order")
+    void givenMoreChangesThanLimit_whenSync_thenPaged() throws Exception {
+        //given - precondition or setup
+        String token = syncToHead();
+        Employee first = employeeService.saveEmployee(newEmployee());
+        Employee second = employeeService.saveEmployee(newEmployee());
+        Employee third = employeeService.saveEmployee(newEmployee());
+
+        //when - action or the behaviour that we are going test
+        EmployeeChanges firstPage = sync(token, 2);
+        EmployeeChanges secondPage = sync(firstPage.nextToken(), 2);
+
+        //then - verify the output
+        assertThat(firstPage.changed()).extracting(Employee::getId).containsExactly(first.getId(), second.getId());
+        assertThat(firstPage.hasMore()).isTrue();
+        assertThat(secondPage.changed()).extracting(Employee::getId).containsExactly(third.getId());
+        assertThat(secondPage.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/changes - a malformed token or a page cursor is rejected with 400")
+    void givenInvalidToken_whenSync_thenBadRequest() throws Exception {
+        //when - action or the behaviour that we are going test, then - verify the output
+        mockMvc.perform(get("/api/v1/employees/changes").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest());
+        String pageCursor = employeeService.getEmployeesPage(null, 1).nextCursor();
+        if (pageCursor != null) {
+            mockMvc.perform(get("/api/v1/employees/changes").param("since", pageCursor))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api/v1/employees/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String syncToHead() throws Exception {
+        EmployeeChanges changes = sync(null, 500);
+        while (changes.hasMore()) {
+            changes = sync(changes.nextToken(), 500);
+        }
+        return changes.nextToken();
+    }
+
+    private EmployeeChanges sync(String since, Integer limit) throws Exception {
+        var request = get("/api/v1/employees/changes");
+        if (since != null) {
+            request.param("since", since);
+        }
+        if (limit != null) {
+            request.param("limit", String.valueOf(limit));
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, EmployeeChanges.class);
+    }
+
+    private static Employee newEmployee() {
+        return Employee.builder().firstName("John").lastName("Doe").email(UUID.randomUUID() + "@example.com").build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeWriteStatus;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.write-behind.enabled=true",
+        "employee.write-behind.flush-interval=50ms"
+})
+@AutoConfigureMockMvc
+class EmployeeWriteBehindControllerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final Faker faker = new Faker();
+
+    @Test
+    @DisplayName("POST with Prefer: respond-async, wait=10 - 202 with a tracking id that resolves to the created employee")
+    void givenRespondAsync_whenCreateEmployee_thenAcceptedAndCreatedLater() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee employee = newEmployee();
+
+        //when (or Act) - action or the behaviour that we are going test
+        MvcResult accepted = mockMvc.perform(post("/api/v1/employees")
+                        .header("Prefer", "respond-async, wait=10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("http://localhost/api/v1/employees/writes/")))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andReturn();
+        String trackingId = objectMapper.readValue(accepted.getResponse().getContentAsString(), EmployeeWriteStatus.class).trackingId();
+
+        //then (or Assert)
+        EmployeeWriteStatus written = awaitWritten(trackingId);
+        assertThat(written.state()).isEqualTo(EmployeeWriteStatus.State.CREATED);
+        assertThat(employeeService.getEmployeeById(written.employee().getId())).contains(written.employee());
+    }
+
+    @Test
+    @DisplayName("A queued create of a taken email ends as DUPLICATE")
+    void givenTakenEmail_whenCreateEmployeeAsync_thenDuplicate() throws Exception {
+        //given (or Arrange) - precondition or setup
+        Employee existing = employeeService.saveEmployee(newEmployee());
+        Employee duplicate = newEmployee();
+        duplicate.setEmail(existing.getEmail());
+
+        //when (or Act) - action or the behaviour that we are going test
+        MvcResult accepted = mockMvc.perform(post("/api/v1/employees")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String trackingId = objectMapper.readValue(accepted.getResponse().getContentAsString(), EmployeeWriteStatus.class).trackingId();
+
+        //then (or Assert)
+        assertThat(awaitWritten(trackingId).state()).isEqualTo(EmployeeWriteStatus.State.DUPLICATE);
+    }
+
+    @Test
+    @DisplayName("POST without the preference is still written synchronously, unknown tracking ids are 404")
+    void givenNoPreference_whenCreateEmployee_thenCreatedSynchronously() throws Exception {
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        mockMvc.perform(post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber());
+        mockMvc.perform(post("/api/v1/employees")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber());
+        mockMvc.perform(get("/api/v1/employees/writes/{trackingId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private EmployeeWriteStatus awaitWritten(String trackingId) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (true) {
+            MvcResult result = mockMvc.perform(get("/api/v1/employees/writes/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            EmployeeWriteStatus status = objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeWriteStatus.class);
+            if (status.state() != EmployeeWriteStatus.State.QUEUED || System.nanoTime() > deadline) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
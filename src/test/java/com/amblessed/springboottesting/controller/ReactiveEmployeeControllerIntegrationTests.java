@@ -0,0 +1,322 @@
+package com.amblessed.springboottesting.controller;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.service.EmployeeService;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The WebFlux + R2DBC stack against the same H2 schema, checked for the status codes and messages
+ * the servlet stack gives. Rows written through JPA and through R2DBC must be visible to each other.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveEmployeeControllerIntegrationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Faker faker = new Faker();
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeService.saveEmployee(newEmployee());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/employees - 201 with an id that does not collide with JPA inserts")
+    void givenEmployee_whenCreateEmployee_thenCreatedAndVisibleToJpa() {
+        //when (or Act) - action or the behaviour that we are going test
+        Employee created = webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult().getResponseBody();
+        Employee savedAfter = employeeService.saveEmployee(newEmployee());
+
+        //then (or Assert)
+        assertThat(created).isNotNull();
+        assertThat(employeeService.getEmployeeById(created.getId())).contains(created);
+        assertThat(savedAfter.getId()).isNotEqualTo(created.getId()).isNotEqualTo(employee.getId());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/employees with a taken email - 409 with the servlet stack's message")
+    void givenExistingEmail_whenCreateEmployee_thenConflict() {
+        //given (or Arrange) - precondition or setup
+        Employee duplicate = newEmployee();
+        duplicate.setEmail(employee.getEmail());
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(duplicate)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Employee with given email: " + employee.getEmail() + " already exists");
+    }
+
+    @Test
+    @DisplayName("GET, PUT and DELETE of an unknown id - 404")
+    void givenUnknownId_whenGetUpdateOrDelete_thenNotFound() {
+        //given (or Arrange) - precondition or setup
+        long unknownId = Long.MAX_VALUE;
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        webTestClient.get().uri("/api/v1/employees/{id}", unknownId).exchange().expectStatus().isNotFound();
+        webTestClient.put().uri("/api/v1/employees/{id}", unknownId)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Employee with id: " + unknownId + " not found");
+        webTestClient.delete().uri("/api/v1/employees/{id}", unknownId).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PUT to a taken email - 409, DELETE of an existing employee - 200")
+    void givenExistingEmployees_whenUpdateToTakenEmailAndDelete_thenConflictAndDeleted() {
+        //given (or Arrange) - precondition or setup
+        Employee other = employeeService.saveEmployee(newEmployee());
+        Employee update = newEmployee();
+        update.setEmail(employee.getEmail());
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        webTestClient.put().uri("/api/v1/employees/{id}", other.getId())
+                .header(HttpHeaders.IF_MATCH, "*")
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        webTestClient.delete().uri("/api/v1/employees/{id}", other.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Employee deleted successfully");
+        webTestClient.get().uri("/api/v1/employees/{id}", other.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/employees/{id} - 428 without If-Match, 412 for an outdated ETag, 200 with the new ETag")
+    void givenIfMatch_whenUpdateEmployee_thenPreconditionChecked() {
+        //given (or Arrange) - precondition or setup
+        String etag = "\"" + employee.getVersion() + "\"";
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        webTestClient.put().uri("/api/v1/employees/{id}", employee.getId())
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+        webTestClient.put().uri("/api/v1/employees/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (employee.getVersion() + 1) + "\"");
+        webTestClient.put().uri("/api/v1/employees/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees and /{id} - ETag on 200, 304 for a matching If-None-Match until a write")
+    void givenETags_whenGetWithIfNoneMatch_thenNotModifiedUntilChanged() {
+        //given (or Arrange) - precondition or setup
+        String listETag = webTestClient.get().uri("/api/v1/employees?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseHeaders().getETag();
+        String employeeETag = webTestClient.get().uri("/api/v1/employees/{id}", employee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseHeaders().getETag();
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        assertThat(employeeETag).isEqualTo("\"" + employee.getVersion() + "\"");
+        webTestClient.get().uri("/api/v1/employees?limit=1")
+                .header(HttpHeaders.IF_NONE_MATCH, listETag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, listETag)
+                .expectBody().isEmpty();
+        webTestClient.get().uri("/api/v1/employees/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, employeeETag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        employeeService.saveEmployee(newEmployee());
+        webTestClient.get().uri("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, listETag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, etag -> assertThat(etag).isNotEqualTo(listETag));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees - streamed array, and keyset pages with a next cursor")
+    void givenEmployees_whenGetAllEmployeesAndPage_thenStreamedAndPaged() {
+        //given (or Arrange) - precondition or setup
+        employeeService.saveEmployee(newEmployee());
+
+        //when (or Act) - action or the behaviour that we are going test
+        Flux<Employee> all = webTestClient.get().uri("/api/v1/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseBody();
+
+        //then (or Assert)
+        StepVerifier.create(all.filter(found -> found.getId().equals(employee.getId())))
+                .expectNext(employee)
+                .verifyComplete();
+        webTestClient.get().uri("/api/v1/employees?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(EmployeeController.NEXT_CURSOR_HEADER)
+                .expectBodyList(Employee.class).hasSize(1);
+        webTestClient.get().uri("/api/v1/employees?limit=0").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees/export - one JSON document per line")
+    void givenEmployees_whenExportEmployees_thenNdjson() {
+        //when (or Act) - action or the behaviour that we are going test
+        Flux<Employee> exported = webTestClient.get().uri("/api/v1/employees/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Employee.class).getResponseBody();
+
+        //then (or Assert)
+        StepVerifier.create(exported.filter(found -> found.getId().equals(employee.getId())))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/employees/batch - same per-item outcome as the servlet stack")
+    void givenBatchWithDuplicateAndInvalid_whenCreateEmployees_thenPerItemResults() {
+        //given (or Arrange) - precondition or setup
+        Employee fresh = newEmployee();
+        Employee taken = newEmployee();
+        taken.setEmail(employee.getEmail());
+        Employee invalid = newEmployee();
+        invalid.setEmail(" ");
+        Employee unnamed = newEmployee();
+        unnamed.setFirstName(null);
+
+        //when (or Act) - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = webTestClient.post().uri("/api/v1/employees/batch")
+                .bodyValue(List.of(fresh, taken, invalid, fresh, unnamed))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<EmployeeBatchResult>>() {})
+                .returnResult().getResponseBody();
+
+        //then (or Assert)
+        assertThat(results).extracting(EmployeeBatchResult::status).containsExactly(
+                EmployeeBatchResult.Status.CREATED, EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.INVALID, EmployeeBatchResult.Status.DUPLICATE, EmployeeBatchResult.Status.INVALID);
+        assertThat(results.get(4).message()).isEqualTo("firstName is required");
+        assertThat(employeeService.getEmployeeById(results.get(0).employee().getId())).contains(fresh);
+    }
+
+    @Test
+    @DisplayName("POST, PUT and DELETE - the full row comes back and every change is in the outbox")
+    void givenEmployee_whenCreateUpdateAndDelete_thenVersionedRowsAndOutboxEntries() {
+        //given (or Arrange) - precondition or setup
+        Employee update = newEmployee();
+
+        //when (or Act) - action or the behaviour that we are going test
+        Employee created = webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(newEmployee())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult().getResponseBody();
+        Employee updated = webTestClient.put().uri("/api/v1/employees/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Employee.class)
+                .returnResult().getResponseBody();
+        webTestClient.delete().uri("/api/v1/employees/{id}", created.getId()).exchange().expectStatus().isOk();
+
+        //then (or Assert)
+        assertThat(created.getVersion()).isZero();
+        assertThat(created.getChangeVersion()).isNotNull();
+        assertThat(created.getLastModified()).isNotNull();
+        assertThat(updated).isEqualTo(update);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getChangeVersion()).isGreaterThan(created.getChangeVersion());
+        assertThat(jdbcTemplate.queryForList("SELECT change_type FROM tbl_employee_outbox WHERE employee_id = ? ORDER BY id",
+                String.class, created.getId())).containsExactly("CREATED", "UPDATED", "DELETED");
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employees?ids - found employees in request order plus missing ids")
+    void givenIds_whenGetEmployeesByIds_thenFoundAndMissing() {
+        //given (or Arrange) - precondition or setup
+        Employee other = employeeService.saveEmployee(newEmployee());
+
+        //when (or Act) - action or the behaviour that we are going test
+        //then (or Assert)
+        webTestClient.get().uri("/api/v1/employees?ids={a},{missing},{b}", other.getId(), Long.MAX_VALUE, employee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employees[0].id").isEqualTo(other.getId())
+                .jsonPath("$.employees[1].id").isEqualTo(employee.getId())
+                .jsonPath("$.missingIds[0]").isEqualTo(Long.MAX_VALUE);
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
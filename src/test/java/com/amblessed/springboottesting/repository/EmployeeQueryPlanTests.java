@@ -0,0 +1,99 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.support.SqlStatementRecorder;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest
+@Import(SqlStatementRecorder.Config.class)
+class EmployeeQueryPlanTests {
+
+    private static final String NAME_INDEX = "IDX_TBL_EMPLOYEES_NAME";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Faker faker = new Faker();
+        employee = employeeRepository.saveAndFlush(Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build());
+    }
+
+    @Test
+    @DisplayName("EXPLAIN - JPQL query with index params uses the name index")
+    void givenJpqlIndexParams_whenExplain_thenUseNameIndex() throws SQLException {
+        assertThat(explain(employeeRepository::findByFirstNameAndLastNameIndexParams)).contains(NAME_INDEX);
+    }
+
+    @Test
+    @DisplayName("EXPLAIN - JPQL query with named params uses the name index")
+    void givenJpqlNamedParams_whenExplain_thenUseNameIndex() throws SQLException {
+        assertThat(explain(employeeRepository::findByFirstNameAndLastNameNamedParams)).contains(NAME_INDEX);
+    }
+
+    @Test
+    @DisplayName("EXPLAIN - native query with index params uses the name index")
+    void givenNativeIndexParams_whenExplain_thenUseNameIndex() throws SQLException {
+        assertThat(explain(employeeRepository::findByFirstNameAndLastNameNativeIndexParams)).contains(NAME_INDEX);
+    }
+
+    @Test
+    @DisplayName("EXPLAIN - native query with named params uses the name index")
+    void givenNativeNamedParams_whenExplain_thenUseNameIndex() throws SQLException {
+        assertThat(explain(employeeRepository::findByFirstNameAndLastNameNativeNamedParams)).contains(NAME_INDEX);
+    }
+
+    // runs the query so Hibernate renders its SQL, then asks the database for the plan of exactly that statement
+    private String explain(BiConsumer<String, String> query) throws SQLException {
+        sqlStatementRecorder.clear();
+        query.accept(employee.getFirstName(), employee.getLastName());
+        String sql = sqlStatementRecorder.lastStatement();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setString(1, employee.getFirstName());
+            statement.setString(2, employee.getLastName());
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}
@@ -10,14 +10,18 @@ package com.amblessed.springboottesting.repository;
 
 
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeTombstone;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.condition.EnabledForJreRange;
 import org.junit.jupiter.api.condition.JRE;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +36,12 @@ class EmployeeRepositoryTests {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private Faker faker;
     private Employee employee;
 
@@ -253,6 +263,103 @@ class EmployeeRepositoryTests {
         assertNotNull(savedEmployee);   // Using JUnit for assertions
     }
 
+    @Test
+    @DisplayName("JUnit test for keyset page after a given id")
+    @Order(13)
+    void givenEmployees_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder(){
+        //given - precondition or setup
+        for (int i = 0; i < 5; i++){
+            employeeRepository.save(Employee.builder()
+                    .firstName(faker.name().firstName())
+                    .lastName(faker.name().lastName())
+                    .email(faker.internet().emailAddress())
+                    .build());
+        }
+        List<Employee> firstPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+
+        //when - action or the behaviour that we are going test
+        List<Employee> secondPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(1).getId(), Limit.of(2));
+
+        //then (or Assert)
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(2);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(1).getId());
+        assertThat(secondPage.get(1).getId()).isGreaterThan(secondPage.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("JUnit test for streaming all employees in id order")
+    @Order(14)
+    void givenEmployees_whenStreamAll_thenReturnEveryEmployeeInIdOrder(){
+        //given - precondition or setup
+        for (int i = 0; i < 5; i++){
+            employeeRepository.save(Employee.builder()
+                    .firstName(faker.name().firstName())
+                    .lastName(faker.name().lastName())
+                    .email(faker.internet().emailAddress())
+                    .build());
+        }
+
+        //when - action or the behaviour that we are going test
+        List<Long> ids;
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            ids = employees.map(Employee::getId).toList();
+        }
+
+        //then (or Assert)
+        assertThat(ids).hasSize(5).isSorted();
+    }
+
+    @Test
+    @DisplayName("JUnit test for single statement update and delete by id")
+    @Order(15)
+    void givenEmployee_whenUpdateAndDeleteById_thenReturnUpdatedEmployeeAndAffectedRowCount(){
+        //given - precondition or setup
+        employeeRepository.save(employee);
 
+        //when - action or the behaviour that we are going test
+        Employee updated = employeeRepository.updateEmployeeById(employee.getId(), "UpdatedFirstName", "UpdatedLastName", employee.getEmail())
+                .orElseThrow();
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).orElseThrow();
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
 
+        //then (or Assert)
+        assertEquals("UpdatedFirstName", updatedEmployee.getFirstName());
+        // the update reports the row exactly as it wrote it
+        assertEquals(updatedEmployee.getVersion(), updated.getVersion());
+        assertEquals(updatedEmployee.getChangeVersion(), updated.getChangeVersion());
+        assertEquals(updatedEmployee.getLastModified(), updated.getLastModified());
+        assertEquals(1, deleted);
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.updateEmployeeById(employee.getId(), "a", "b", "c@d.com")).isEmpty();
+        assertEquals(0, employeeRepository.deleteEmployeeById(employee.getId()));
+    }
+
+    @Test
+    @DisplayName("JUnit test for change versions - every write draws a higher version and a delete leaves a tombstone")
+    @Order(16)
+    void givenEmployee_whenUpdateAndDelete_thenChangeVersionsIncrease(){
+        //given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee other = employeeRepository.saveAndFlush(Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build());
+        // the versions are assigned by the database, so read the rows back instead of the managed entities
+        testEntityManager.clear();
+        long created = employeeRepository.findById(employee.getId()).orElseThrow().getChangeVersion();
+
+        //when - action or the behaviour that we are going test
+        employeeRepository.updateEmployeeById(employee.getId(), "UpdatedFirstName", employee.getLastName(), employee.getEmail());
+        long updated = employeeRepository.findById(employee.getId()).orElseThrow().getChangeVersion();
+        employeeRepository.deleteEmployeeById(other.getId());
+
+        //then (or Assert)
+        assertThat(updated).isGreaterThan(created);
+        assertThat(employeeRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(created, Limit.of(10)))
+                .extracting(Employee::getId).containsExactly(employee.getId());
+        assertThat(employeeTombstoneRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(updated, Limit.of(10)))
+                .extracting(EmployeeTombstone::getEmployeeId).containsExactly(other.getId());
+    }
 }
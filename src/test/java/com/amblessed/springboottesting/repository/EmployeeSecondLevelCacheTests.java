@@ -0,0 +1,166 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.datafaker.Faker;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmployeeSecondLevelCacheTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Faker faker = new Faker();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build());
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findById is answered from the second-level cache")
+    void givenSavedEmployee_whenFindByIdTwice_thenServedFromSecondLevelCache() {
+        //when - action or the behaviour that we are going test
+        Employee first = employeeRepository.findById(employee.getId()).orElseThrow();
+        Employee second = employeeRepository.findById(employee.getId()).orElseThrow();
+
+        //then (or Assert)
+        assertThat(first.getEmail()).isEqualTo(employee.getEmail());
+        assertThat(second.getEmail()).isEqualTo(employee.getEmail());
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findByEmail is answered from the natural-id cache")
+    void givenSavedEmployee_whenFindByEmail_thenServedFromNaturalIdCache() {
+        //when - action or the behaviour that we are going test
+        Employee found = employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+
+        //then (or Assert)
+        assertThat(found.getId()).isEqualTo(employee.getId());
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("An update evicts the cached email so lookups never see the old value")
+    void givenCachedEmployee_whenEmailUpdated_thenOldEmailMissesAndNewEmailHits() {
+        //given - precondition or setup
+        String newEmail = UUID.randomUUID() + "@example.com";
+        employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+
+        //when - action or the behaviour that we are going test
+        transactionTemplate.executeWithoutResult(status ->
+                employeeRepository.updateEmployeeById(employee.getId(), employee.getFirstName(), employee.getLastName(), newEmail));
+
+        //then (or Assert)
+        assertThat(employeeRepository.findByEmail(employee.getEmail())).isEmpty();
+        assertThat(employeeRepository.findByEmail(newEmail)).get().extracting(Employee::getId).isEqualTo(employee.getId());
+        assertThat(employeeRepository.findById(employee.getId())).get().extracting(Employee::getEmail).isEqualTo(newEmail);
+    }
+
+    @Test
+    @DisplayName("Updating or deleting one employee leaves the other cached employees in place")
+    void givenTwoCachedEmployees_whenOneIsUpdatedAndDeleted_thenTheOtherIsStillServedFromCache() {
+        //given - precondition or setup
+        Employee other = employeeRepository.save(Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(UUID.randomUUID() + "@example.com")
+                .build());
+        employeeRepository.findById(other.getId()).orElseThrow();
+        employeeRepository.findByEmail(other.getEmail()).orElseThrow();
+
+        //when - action or the behaviour that we are going test
+        transactionTemplate.executeWithoutResult(status ->
+                employeeRepository.updateEmployeeById(employee.getId(), "Grace", "Hopper", employee.getEmail()));
+        transactionTemplate.executeWithoutResult(status -> employeeRepository.deleteEmployeeById(employee.getId()));
+        statistics.clear();
+
+        //then (or Assert)
+        assertThat(employeeRepository.findById(other.getId())).isPresent();
+        assertThat(employeeRepository.findByEmail(other.getEmail())).isPresent();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(employeeRepository.findByEmail(employee.getEmail())).isEmpty();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An employee created through the service is cached with its database-assigned columns, not without them")
+    void givenEmployeeCreatedByService_whenFindByIdTwice_thenChangeVersionAndLastModifiedPresent() {
+        //given - precondition or setup
+        Employee created = employeeService.saveEmployee(Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(UUID.randomUUID() + "@example.com")
+                .build());
+
+        //when - action or the behaviour that we are going test
+        Employee loaded = employeeRepository.findById(created.getId()).orElseThrow();
+        Employee cached = employeeRepository.findById(created.getId()).orElseThrow();
+
+        //then (or Assert)
+        assertThat(loaded.getLastModified()).isNotNull();
+        assertThat(cached.getChangeVersion()).isEqualTo(created.getChangeVersion());
+        assertThat(cached.getLastModified()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Cache hits and misses are published as metrics")
+    void givenCacheTraffic_whenReadingMetrics_thenHitsAndMissesAreExposed() {
+        //when - action or the behaviour that we are going test
+        employeeRepository.findByEmail(employee.getEmail());
+
+        //then (or Assert)
+        assertThat(meterRegistry.find("hibernate.cache.natural.id.requests").tag("result", "hit").functionCounter())
+                .isNotNull();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "miss").functionCounter())
+                .isNotNull();
+    }
+}
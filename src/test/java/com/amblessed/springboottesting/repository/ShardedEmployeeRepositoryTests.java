@@ -0,0 +1,326 @@
+package com.amblessed.springboottesting.repository;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeShardingConfig;
+import com.amblessed.springboottesting.exception.FeatureNotSupportedException;
+import com.amblessed.springboottesting.exception.InvalidRequestException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.service.EmployeeService;
+import com.amblessed.springboottesting.service.ShardedEmployeeService;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Three in-memory H2 databases as shards; the rows on each shard are checked directly to see where they went.
+ */
+@SpringBootTest(properties = {
+        "employee.sharding.shards[0].url=jdbc:h2:mem:employee-shard-0;DB_CLOSE_DELAY=-1",
+        "employee.sharding.shards[1].url=jdbc:h2:mem:employee-shard-1;DB_CLOSE_DELAY=-1",
+        "employee.sharding.shards[2].url=jdbc:h2:mem:employee-shard-2;DB_CLOSE_DELAY=-1",
+        "employee.outbox.relay-enabled=false"
+})
+class ShardedEmployeeRepositoryTests {
+
+    @Autowired
+    private ShardedEmployeeRepository shardedEmployeeRepository;
+
+    @Autowired
+    private EmployeeShardRebalancer employeeShardRebalancer;
+
+    @Autowired
+    private EmployeeShardMap employeeShardMap;
+
+    @Autowired
+    private EmployeeShards employeeShards;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final Faker faker = new Faker();
+
+    @Test
+    @DisplayName("A create lands on the shard owning the email's bucket, and the id leads back to it")
+    void givenEmployee_whenSave_thenStoredOnHomeShardAndFoundByIdAndEmail() {
+        //given - precondition or setup
+        Employee employee = newEmployee();
+
+        //when - action or the behaviour that we are going test
+        Employee saved = shardedEmployeeRepository.save(employee);
+
+        //then - verify the output
+        int bucket = EmployeeShardMap.bucketOf(employee.getEmail());
+        assertThat(EmployeeShardMap.bucketOf(saved.getId())).isEqualTo(bucket);
+        assertThat(shardsHolding(saved.getId())).containsExactly(employeeShardMap.shardOf(bucket));
+        assertThat(shardedEmployeeRepository.findById(saved.getId())).contains(saved);
+        assertThat(shardedEmployeeRepository.findByEmail(saved.getEmail())).contains(saved);
+    }
+
+    @Test
+    @DisplayName("A taken email is rejected by its home shard")
+    void givenExistingEmail_whenSave_thenDuplicateKeyException() {
+        //given - precondition or setup
+        Employee saved = shardedEmployeeRepository.save(newEmployee());
+        Employee duplicate = newEmployee();
+        duplicate.setEmail(saved.getEmail());
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThatThrownBy(() -> shardedEmployeeRepository.save(duplicate)).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("findAll and the name query gather every shard into one id-ordered list")
+    void givenEmployeesOnAllShards_whenFindAllAndFindByName_thenMergedInIdOrder() {
+        //given - precondition or setup
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Employee employee = newEmployee();
+            employee.setFirstName("Scatter");
+            employee.setLastName("Gather");
+            employees.add(employee);
+        }
+
+        //when - action or the behaviour that we are going test
+        List<Employee> saved = shardedEmployeeRepository.saveAll(employees);
+        List<Employee> all = shardedEmployeeRepository.findAll();
+        List<Employee> named = shardedEmployeeRepository.findByFirstNameAndLastName("Scatter", "Gather");
+
+        //then - verify the output
+        assertThat(saved.stream().map(employee -> employeeShardMap.shardOf(EmployeeShardMap.bucketOf(employee.getId()))).distinct())
+                .hasSize(3);
+        assertThat(all).containsAll(saved);
+        assertThat(all).extracting(Employee::getId).isSorted();
+        assertThat(named).containsExactlyInAnyOrderElementsOf(saved);
+        assertThat(named).extracting(Employee::getId).isSorted();
+        assertThat(shardedEmployeeRepository.findExistingEmails(saved.stream().map(Employee::getEmail).toList()))
+                .hasSize(saved.size());
+    }
+
+    @Test
+    @DisplayName("Rebalancing moves buckets onto an empty shard without losing or renumbering rows")
+    void givenShardWithoutBuckets_whenRebalance_thenEvenSharesAndRowsStillFound() {
+        //given - shard 2 has handed all its buckets to shard 0, as if it had just been added
+        List<Employee> saved = shardedEmployeeRepository.saveAll(List.of(newEmployee(), newEmployee(), newEmployee(),
+                newEmployee(), newEmployee(), newEmployee(), newEmployee(), newEmployee(), newEmployee()));
+        for (int bucket : employeeShardMap.bucketsOf(2)) {
+            employeeShardRebalancer.moveBucket(bucket, 0);
+        }
+        long count = shardedEmployeeRepository.count();
+        assertThat(employeeShardMap.bucketsOf(2)).isEmpty();
+
+        //when - action or the behaviour that we are going test
+        int moved = employeeShardRebalancer.rebalance();
+
+        //then - verify the output
+        assertThat(moved).isPositive();
+        for (int shard = 0; shard < 3; shard++) {
+            assertThat(employeeShardMap.bucketsOf(shard).size()).isBetween(EmployeeShardMap.BUCKETS / 3, EmployeeShardMap.BUCKETS / 3 + 1);
+        }
+        assertThat(shardedEmployeeRepository.count()).isEqualTo(count);
+        for (Employee employee : saved) {
+            assertThat(shardedEmployeeRepository.findById(employee.getId())).contains(employee);
+            assertThat(shardsHolding(employee.getId())).containsExactly(employeeShardMap.shardOf(EmployeeShardMap.bucketOf(employee.getId())));
+        }
+    }
+
+    @Test
+    @DisplayName("Update returns the versioned row and delete leaves a tombstone, both only for an existing id")
+    void givenSavedEmployee_whenUpdateAndDelete_thenVersionedRowThenTombstone() {
+        //given - precondition or setup
+        Employee saved = shardedEmployeeRepository.save(newEmployee());
+        long collectionVersion = shardedEmployeeRepository.findCollectionVersion();
+
+        //when - action or the behaviour that we are going test
+        Optional<Employee> updated = shardedEmployeeRepository.updateEmployeeById(saved.getId(), null, "Grace", "Hopper", saved.getEmail());
+        Optional<Employee> stale = shardedEmployeeRepository.updateEmployeeById(saved.getId(), 0L, "Ada", "Lovelace", saved.getEmail());
+        int deleted = shardedEmployeeRepository.deleteEmployeeById(saved.getId());
+
+        //then - verify the output
+        assertThat(updated).isPresent();
+        assertThat(updated.get().getVersion()).isEqualTo(1L);
+        assertThat(updated.get().getChangeVersion()).isGreaterThan(saved.getChangeVersion());
+        assertThat(stale).isEmpty();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(shardedEmployeeRepository.deleteEmployeeById(saved.getId())).isZero();
+        assertThat(shardedEmployeeRepository.findById(saved.getId())).isEmpty();
+        assertThat(homeShard(saved.getId()).queryForObject(
+                "SELECT COUNT(*) FROM tbl_employee_tombstones WHERE employee_id = ?", Integer.class, saved.getId())).isEqualTo(1);
+        assertThat(shardedEmployeeRepository.findCollectionVersion()).isEqualTo(collectionVersion + 2);
+    }
+
+    @Test
+    @DisplayName("An email moved onto another shard's bucket stays unique and is found; the old one is free again")
+    void givenEmailChangedToOtherShard_whenSaveBothEmails_thenNewTakenAndOldFree() {
+        //given - precondition or setup
+        Employee saved = shardedEmployeeRepository.save(newEmployee());
+        int rowShard = employeeShardMap.shardOf(EmployeeShardMap.bucketOf(saved.getId()));
+        Employee moved = newEmployeeWithEmailIn(bucket -> employeeShardMap.shardOf(bucket) != rowShard);
+
+        //when - action or the behaviour that we are going test
+        shardedEmployeeRepository.updateEmployeeById(saved.getId(), null, saved.getFirstName(), saved.getLastName(), moved.getEmail());
+
+        //then - verify the output
+        assertThat(shardedEmployeeRepository.findByEmail(moved.getEmail())).get().extracting(Employee::getId).isEqualTo(saved.getId());
+        assertThat(shardedEmployeeRepository.findByEmail(saved.getEmail())).isEmpty();
+        assertThat(shardedEmployeeRepository.findExistingEmails(List.of(moved.getEmail(), saved.getEmail())))
+                .containsExactly(moved.getEmail());
+        assertThatThrownBy(() -> shardedEmployeeRepository.save(moved)).isInstanceOf(DuplicateKeyException.class);
+        Employee reused = newEmployee();
+        reused.setEmail(saved.getEmail());
+        assertThat(shardedEmployeeRepository.save(reused).getEmail()).isEqualTo(saved.getEmail());
+    }
+
+    @Test
+    @DisplayName("A moved bucket keeps every column of its rows, its tombstones and its email claims")
+    void givenVersionedRowsAndTombstone_whenMoveBucket_thenAllColumnsAndTombstoneMoved() {
+        //given - precondition or setup
+        Employee saved = shardedEmployeeRepository.save(newEmployee());
+        Employee updated = shardedEmployeeRepository.updateEmployeeById(saved.getId(), null, "Grace", "Hopper", saved.getEmail()).orElseThrow();
+        int bucket = EmployeeShardMap.bucketOf(saved.getId());
+        long deletedId = shardedEmployeeRepository.save(newEmployeeWithEmailIn(emailBucket -> emailBucket == bucket)).getId();
+        shardedEmployeeRepository.deleteEmployeeById(deletedId);
+        int target = (employeeShardMap.shardOf(bucket) + 1) % employeeShardMap.shardCount();
+
+        //when - action or the behaviour that we are going test
+        employeeShardRebalancer.moveBucket(bucket, target);
+
+        //then - verify the output
+        assertThat(shardedEmployeeRepository.findById(saved.getId())).contains(updated);
+        assertThat(shardsHolding(saved.getId())).containsExactly(target);
+        assertThat(shardedEmployeeRepository.findByEmail(saved.getEmail())).contains(updated);
+        assertThat(homeShard(deletedId).queryForObject(
+                "SELECT COUNT(*) FROM tbl_employee_tombstones WHERE employee_id = ?", Integer.class, deletedId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rows left on a shard that no longer owns their bucket are never read, and the clean-up deletes them")
+    void givenCopyLeftByInterruptedMove_whenReadAndDeleteUnownedRows_thenSeenOnceThenGone() {
+        //given - a copy of the row on another shard, as a move that failed before or after the switch leaves behind
+        Employee saved = shardedEmployeeRepository.save(newEmployee());
+        int home = employeeShardMap.shardOf(EmployeeShardMap.bucketOf(saved.getId()));
+        JdbcTemplate other = employeeShards.databases().get((home + 1) % employeeShardMap.shardCount());
+        long count = shardedEmployeeRepository.count();
+        other.update("INSERT INTO tbl_employees (id, first_name, last_name, email) VALUES (?, ?, ?, ?)",
+                saved.getId(), saved.getFirstName(), saved.getLastName(), saved.getEmail());
+
+        //when - action or the behaviour that we are going test
+        List<Employee> all = shardedEmployeeRepository.findAll();
+        List<Employee> page = shardedEmployeeRepository.findByIdGreaterThan(saved.getId() - 1, 1);
+        int deleted = employeeShardRebalancer.deleteUnownedRows();
+
+        //then - verify the output
+        assertThat(all).filteredOn(employee -> employee.getId().equals(saved.getId())).containsExactly(saved);
+        assertThat(page).containsExactly(saved);
+        assertThat(shardedEmployeeRepository.count()).isEqualTo(count);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(shardsHolding(saved.getId())).containsExactly(home);
+    }
+
+    @Test
+    @DisplayName("With shards configured the employee service reads and writes through the sharded store")
+    void givenShardsConfigured_whenUseEmployeeService_thenServedFromShards() {
+        //given - precondition or setup
+        String version = employeeService.getEmployeesVersion();
+
+        //when - action or the behaviour that we are going test
+        Employee saved = employeeService.saveEmployee(newEmployee());
+
+        //then - verify the output
+        assertThat(employeeService).isInstanceOf(ShardedEmployeeService.class);
+        assertThat(shardsHolding(saved.getId())).containsExactly(employeeShardMap.shardOf(EmployeeShardMap.bucketOf(saved.getId())));
+        assertThat(employeeService.getEmployeeById(saved.getId())).contains(saved);
+        assertThat(employeeService.getEmployeesVersion()).isNotEqualTo(version);
+        assertThatThrownBy(() -> employeeService.getEmployeeChanges(null, null)).isInstanceOf(FeatureNotSupportedException.class);
+    }
+
+    @Test
+    @DisplayName("The sharded service rejects an employee without an email as the primary one does, before picking a shard")
+    void givenEmployeeWithoutEmail_whenSaveAndUpdateThroughShardedService_thenInvalidRequest() {
+        //given - precondition or setup
+        Employee saved = employeeService.saveEmployee(newEmployee());
+        Employee withoutEmail = newEmployee();
+        withoutEmail.setEmail(null);
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(withoutEmail, newEmployee()));
+
+        //then - verify the output
+        assertThatThrownBy(() -> employeeService.saveEmployee(withoutEmail))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("email is required");
+        assertThatThrownBy(() -> employeeService.updateEmployee(saved.getId(), withoutEmail))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("email is required");
+        assertThat(results).extracting(EmployeeBatchResult::status)
+                .containsExactly(EmployeeBatchResult.Status.INVALID, EmployeeBatchResult.Status.CREATED);
+        assertThat(employeeService.getEmployeeById(saved.getId())).contains(saved);
+    }
+
+    @Test
+    @DisplayName("The sharded store refuses to start while the outbox relay would publish nothing")
+    void givenOutboxRelayEnabled_whenCreateShardedEmployeeService_thenIllegalStateException() {
+        //given - the relay is on unless switched off
+        MockEnvironment environment = new MockEnvironment();
+
+        //when - action or the behaviour that we are going test
+        Throwable thrown = catchThrowable(() -> new EmployeeShardingConfig().shardedEmployeeService(shardedEmployeeRepository, environment));
+
+        //then - verify the output
+        assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("employee.outbox.relay-enabled=false");
+    }
+
+    private JdbcTemplate homeShard(long id) {
+        return employeeShards.databases().get(employeeShardMap.shardOf(EmployeeShardMap.bucketOf(id)));
+    }
+
+    private List<Integer> shardsHolding(long id) {
+        List<Integer> holding = new ArrayList<>();
+        List<JdbcTemplate> databases = employeeShards.databases();
+        for (int shard = 0; shard < databases.size(); shard++) {
+            Integer rows = databases.get(shard).queryForObject("SELECT COUNT(*) FROM tbl_employees WHERE id = ?", Integer.class, id);
+            if (rows != null && rows > 0) {
+                holding.add(shard);
+            }
+        }
+        return holding;
+    }
+
+    private Employee newEmployeeWithEmailIn(IntPredicate buckets) {
+        Employee employee = newEmployee();
+        while (!buckets.test(EmployeeShardMap.bucketOf(employee.getEmail()))) {
+            employee = newEmployee();
+        }
+        return employee;
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.AsyncEmployeeServiceProperties;
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEmployeeServiceTests {
+
+    private static final int MAX_CONCURRENT_CALLS = 4;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private ExecutorService executor;
+    private AsyncEmployeeServiceImpl asyncEmployeeService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        asyncEmployeeService = new AsyncEmployeeServiceImpl(employeeService, executor,
+                new AsyncEmployeeServiceProperties(MAX_CONCURRENT_CALLS, Duration.ofMillis(200)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Lookups issued together run in parallel")
+    void givenBlockingLookups_whenIssuedTogether_thenAllRunAtOnce() throws Exception {
+        //given - every lookup waits until all of them have started
+        CountDownLatch started = new CountDownLatch(MAX_CONCURRENT_CALLS);
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            started.countDown();
+            started.await();
+            return Optional.of(new Employee(invocation.getArgument(0), "John", "Doe", "john@doe.com"));
+        });
+
+        //when - action or the behaviour that we are going test
+        List<CompletableFuture<Optional<Employee>>> lookups = new ArrayList<>();
+        for (long id = 1; id <= MAX_CONCURRENT_CALLS; id++) {
+            lookups.add(asyncEmployeeService.getEmployeeById(id));
+        }
+
+        //then - verify the output
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(lookups).allSatisfy(lookup -> assertThat(lookup.join()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead are rejected without waiting")
+    void givenBulkheadFull_whenAnotherCallIsMade_thenItFailsImmediately() {
+        //given - MAX_CONCURRENT_CALLS lookups are held inside the delegate
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+        for (long id = 1; id <= MAX_CONCURRENT_CALLS; id++) {
+            asyncEmployeeService.getEmployeeById(id);
+        }
+
+        //when - action or the behaviour that we are going test
+        CompletableFuture<Optional<Employee>> rejected = asyncEmployeeService.getEmployeeById(99L);
+
+        //then - verify the output
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("A slow call times out for the caller but keeps its permit until the delegate returns")
+    void givenSlowDelegate_whenTimeoutElapses_thenFutureFailsAndPermitIsHeldUntilCallEnds() throws Exception {
+        //given - lookups that do not return until released
+        given(employeeService.getEmployeeById(anyLong())).willAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+
+        //when - action or the behaviour that we are going test
+        CompletableFuture<Optional<Employee>> slow = asyncEmployeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThatThrownBy(() -> slow.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        for (long id = 2; id <= MAX_CONCURRENT_CALLS; id++) {
+            asyncEmployeeService.getEmployeeById(id);
+        }
+        assertThat(asyncEmployeeService.getEmployeeById(99L)).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Exceptions of the blocking service reach the caller unchanged")
+    void givenUnknownId_whenDeleteEmployeeById_thenFutureFailsWithResourceNotFound() {
+        //given - precondition or setup
+        willThrow(new ResourceNotFoundException("Employee with id: 1 not found"))
+                .given(employeeService).deleteEmployeeById(1L);
+
+        //when - action or the behaviour that we are going test
+        CompletableFuture<Void> delete = asyncEmployeeService.deleteEmployeeById(1L);
+
+        //then - verify the output
+        assertThatThrownBy(() -> delete.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class)
+                .hasRootCauseMessage("Employee with id: 1 not found");
+    }
+}
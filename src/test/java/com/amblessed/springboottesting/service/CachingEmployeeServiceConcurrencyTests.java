@@ -0,0 +1,121 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.model.Employee;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "employee.service-cache.enabled=true")
+class CachingEmployeeServiceConcurrencyTests {
+
+    private static final int READERS = 8;
+    private static final int WRITES = 200;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final Faker faker = new Faker();
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName("version-0")
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build());
+    }
+
+    @Test
+    @DisplayName("The caching decorator is the EmployeeService callers receive")
+    void givenCacheEnabled_whenInjectingEmployeeService_thenCachingDecoratorIsPrimary() {
+        assertThat(employeeService).isInstanceOf(CachingEmployeeService.class);
+    }
+
+    @Test
+    @DisplayName("No stale read after an update returns, while readers hammer the same id")
+    void givenConcurrentReaders_whenEmployeeUpdated_thenNextReadSeesNewValue() throws Exception {
+        //given - precondition or setup
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> readers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(READERS)) {
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        assertThat(employeeService.getEmployeeById(employee.getId())).isPresent();
+                    }
+                }));
+            }
+
+            //when - action or the behaviour that we are going test
+            for (int version = 1; version <= WRITES; version++) {
+                String lastName = "version-" + version;
+                employeeService.updateEmployee(employee.getId(), Employee.builder()
+                        .firstName(employee.getFirstName())
+                        .lastName(lastName)
+                        .email(employee.getEmail())
+                        .build());
+
+                //then - the write is visible to the very next read
+                assertThat(employeeService.getEmployeeById(employee.getId()))
+                        .get().extracting(Employee::getLastName).isEqualTo(lastName);
+            }
+            writing.set(false);
+        }
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+    }
+
+    @Test
+    @DisplayName("No stale read after a delete returns, while readers hammer the same id")
+    void givenConcurrentReaders_whenEmployeeDeleted_thenNextReadSeesNoEmployee() throws Exception {
+        //given - precondition or setup
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> readers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(READERS)) {
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        employeeService.getEmployeeById(employee.getId());
+                    }
+                }));
+            }
+
+            //when - action or the behaviour that we are going test
+            employeeService.deleteEmployeeById(employee.getId());
+
+            //then - verify the output
+            for (int i = 0; i < 100; i++) {
+                assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+            }
+            running.set(false);
+        }
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+    }
+}
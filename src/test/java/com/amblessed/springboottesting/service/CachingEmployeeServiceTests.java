@@ -0,0 +1,127 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.config.EmployeeServiceCacheProperties;
+import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.model.Employee;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmployeeServiceTests {
+
+    @Mock
+    private EmployeeService delegate;
+
+    private CachingEmployeeService cachingEmployeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Faker faker = new Faker();
+        cachingEmployeeService = new CachingEmployeeService(delegate,
+                new EmployeeServiceCacheProperties(true, 100, Duration.ofMinutes(5), Duration.ofSeconds(10)));
+        employee = Employee.builder()
+                .id(1L)
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(faker.internet().emailAddress())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups of one id reach the delegate once")
+    void givenCachedEmployee_whenGetEmployeeByIdAgain_thenDelegateCalledOnce() {
+        //given - precondition or setup
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        //when - action or the behaviour that we are going test
+        cachingEmployeeService.getEmployeeById(1L);
+        Optional<Employee> cached = cachingEmployeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(cached).contains(employee);
+        verify(delegate, times(1)).getEmployeeById(1L);
+    }
+
+    @Test
+    @DisplayName("Unknown ids are cached as negative results")
+    void givenUnknownId_whenGetEmployeeByIdRepeatedly_thenDelegateCalledOnce() {
+        //given - precondition or setup
+        given(delegate.getEmployeeById(99L)).willReturn(Optional.empty());
+
+        //when - action or the behaviour that we are going test
+        for (int i = 0; i < 10; i++) {
+            assertThat(cachingEmployeeService.getEmployeeById(99L)).isEmpty();
+        }
+
+        //then - verify the output
+        verify(delegate, times(1)).getEmployeeById(99L);
+    }
+
+    @Test
+    @DisplayName("Creating an employee replaces a negative entry for its id")
+    void givenNegativeEntry_whenSaveEmployee_thenNewEmployeeIsVisible() {
+        //given - precondition or setup
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.empty());
+        given(delegate.saveEmployee(employee)).willReturn(employee);
+        cachingEmployeeService.getEmployeeById(1L);
+
+        //when - action or the behaviour that we are going test
+        cachingEmployeeService.saveEmployee(employee);
+
+        //then - verify the output
+        assertThat(cachingEmployeeService.getEmployeeById(1L)).contains(employee);
+        verify(delegate, times(1)).getEmployeeById(1L);
+    }
+
+    @Test
+    @DisplayName("Update and delete evict the cached entry")
+    void givenCachedEmployee_whenUpdateOrDelete_thenNextLookupReloads() {
+        //given - precondition or setup
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        cachingEmployeeService.getEmployeeById(1L);
+
+        //when - action or the behaviour that we are going test
+        cachingEmployeeService.updateEmployee(1L, employee);
+        cachingEmployeeService.getEmployeeById(1L);
+        cachingEmployeeService.deleteEmployeeById(1L);
+        cachingEmployeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        verify(delegate, times(3)).getEmployeeById(1L);
+    }
+
+    @Test
+    @DisplayName("A failed write leaves the cache untouched and propagates")
+    void givenUnknownId_whenUpdateEmployee_thenExceptionPropagates() {
+        //given - precondition or setup
+        willThrow(new ResourceNotFoundException("Employee with id: 2 not found")).given(delegate).deleteEmployeeById(2L);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(ResourceNotFoundException.class, () -> cachingEmployeeService.deleteEmployeeById(2L));
+    }
+}
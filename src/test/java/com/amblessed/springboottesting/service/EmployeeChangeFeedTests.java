@@ -0,0 +1,200 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeChangeStreamProperties;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeFeedTests {
+
+    private static final int BUFFER_SIZE = 2;
+    private static final int REPLAY_LIMIT = 100;
+
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeats;
+    private EmployeeChangeFeed feed;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        sender = Executors.newVirtualThreadPerTaskExecutor();
+        heartbeats = Executors.newSingleThreadScheduledExecutor();
+        feed = new EmployeeChangeFeed(employeeOutboxRepository,
+                new EmployeeChangeStreamProperties(BUFFER_SIZE, REPLAY_LIMIT, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                sender, heartbeats);
+        meterRegistry = new SimpleMeterRegistry();
+        feed.bindTo(meterRegistry);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+        sender.shutdownNow();
+        heartbeats.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A subscriber stuck on a slow socket is dropped instead of holding up the relay")
+    void givenStalledSubscriber_whenBufferOverflows_thenSubscriberDroppedAndPublisherNotBlocked() throws InterruptedException {
+        //given - the first send never returns
+        StalledEmitter stalled = new StalledEmitter();
+        feed.subscribe(stalled, null, null);
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThatCode(() -> {
+            for (long sequence = 1; sequence <= BUFFER_SIZE + 2; sequence++) {
+                feed.onChange(change(sequence, 7L));
+            }
+        }).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("employee.stream.dropped").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("employee.stream.subscribers").gauge().value()).isZero();
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A subscriber filtering by id is only offered that employee's changes")
+    void givenFilteredSubscriber_whenOtherEmployeesChange_thenNotBuffered() throws InterruptedException {
+        //given - precondition or setup
+        StalledEmitter stalled = new StalledEmitter();
+        feed.subscribe(stalled, null, Set.of(7L));
+
+        //when - action or the behaviour that we are going test
+        feed.onChange(change(1, 7L));
+        for (long sequence = 2; sequence <= 20; sequence++) {
+            feed.onChange(change(sequence, 8L));
+        }
+
+        //then - verify the output
+        assertThat(meterRegistry.get("employee.stream.dropped").functionCounter().count()).isZero();
+        assertThat(stalled.firstSend.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Changes of other employees skipped during a replay do not count towards its limit")
+    void givenFilteredSubscriber_whenReplayingPastManyOtherChanges_thenOnlySentChangesCount() throws InterruptedException {
+        //given - REPLAY_LIMIT changes of another employee come before the one change of the watched employee
+        List<EmployeeChangeEvent> outbox = new ArrayList<>();
+        for (long sequence = 1; sequence <= REPLAY_LIMIT; sequence++) {
+            outbox.add(change(sequence, 8L));
+        }
+        outbox.add(change(REPLAY_LIMIT + 1, 7L));
+        given(employeeOutboxRepository.findPublishedAfter(anyLong(), anyInt())).willAnswer(invocation -> outbox.stream()
+                .filter(event -> event.publishedSequence() > invocation.<Long>getArgument(0))
+                .limit(invocation.<Integer>getArgument(1))
+                .toList());
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        //when - action or the behaviour that we are going test
+        feed.subscribe(emitter, 0L, Set.of(7L));
+
+        //then - verify the output
+        assertThat(emitter.firstSend.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.sent).singleElement().asString()
+                .contains("id:" + (REPLAY_LIMIT + 1))
+                .doesNotContain("event:" + EmployeeChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    @DisplayName("A change sent by the replay is not sent again when it also arrives live")
+    void givenChangeReplayed_whenItArrivesLiveToo_thenSentOnce() throws InterruptedException {
+        //given - precondition or setup
+        given(employeeOutboxRepository.findPublishedAfter(anyLong(), anyInt())).willReturn(List.of(change(5, 7L)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter, 4L, null);
+        assertThat(emitter.firstSend.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when - action or the behaviour that we are going test
+        feed.onChange(change(5, 7L));
+        feed.onChange(change(6, 7L));
+
+        //then - verify the output
+        assertThat(emitter.secondSend.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(emitter.sent.get(1)).contains("id:6");
+    }
+
+    private static EmployeeChangeEvent change(long sequence, long employeeId) {
+        return new EmployeeChangeEvent(sequence, sequence, EmployeeChangeEvent.Type.UPDATED, employeeId,
+                new Employee(employeeId, "John", "Doe", "john@doe.com"), Instant.now());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSend = new CountDownLatch(1);
+        private final CountDownLatch secondSend = new CountDownLatch(2);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+            firstSend.countDown();
+            secondSend.countDown();
+        }
+    }
+
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch firstSend = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            firstSend.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The relay runs in the background as it does in production; each test waits until the changes of its own
+ * employees have come through, since other tests' changes share the same outbox.
+ */
+@SpringBootTest(properties = "employee.outbox.poll-interval=20ms")
+class EmployeeOutboxRelayTests {
+
+    @TempDir
+    static Path changesDirectory;
+
+    @DynamicPropertySource
+    static void fileSink(DynamicPropertyRegistry registry) {
+        registry.add("employee.outbox.file-sink-path", () -> changesDirectory.resolve("employee-changes.ndjson").toString());
+    }
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private InProcessListener inProcessListener;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        recordingSink.failures.set(0);
+    }
+
+    @Test
+    @DisplayName("Create, update and delete reach every sink in the order they were committed")
+    void givenEmployeeChanges_whenRelayed_thenDeliveredInOrderToAllSinks() throws Exception {
+        //given - precondition or setup
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        long id = employee.getId();
+
+        //when - action or the behaviour that we are going test
+        employeeService.updateEmployee(id, Employee.builder().firstName("Grace").lastName("Hopper").email(employee.getEmail()).build());
+        employeeService.deleteEmployeeById(id);
+
+        //then - verify the output
+        List<EmployeeChangeEvent> delivered = awaitEvents(recordingSink.events, id, 3);
+        assertThat(delivered).extracting(EmployeeChangeEvent::type).containsExactly(
+                EmployeeChangeEvent.Type.CREATED, EmployeeChangeEvent.Type.UPDATED, EmployeeChangeEvent.Type.DELETED);
+        assertThat(delivered.get(1).employee().getFirstName()).isEqualTo("Grace");
+        assertThat(delivered.get(2).employee()).isNull();
+        assertThat(awaitEvents(inProcessListener.events, id, 3)).isEqualTo(delivered);
+        assertThat(Files.readAllLines(changesDirectory.resolve("employee-changes.ndjson")).stream()
+                .map(this::readEvent)
+                .filter(event -> event.employeeId() == id)
+                .toList()).isEqualTo(delivered);
+    }
+
+    @Test
+    @DisplayName("A batch a sink failed is delivered again, from its first change")
+    void givenSinkFailsOnce_whenRelayed_thenBatchDeliveredAgain() {
+        //given - the next delivery attempt fails
+        recordingSink.failures.set(1);
+
+        //when - action or the behaviour that we are going test
+        Employee employee = employeeService.saveEmployee(newEmployee());
+        employeeService.updateEmployee(employee.getId(),
+                Employee.builder().firstName("Ada").lastName("Lovelace").email(employee.getEmail()).build());
+
+        //then - verify the output
+        List<EmployeeChangeEvent> delivered = awaitEvents(recordingSink.events, employee.getId(), 2);
+        assertThat(recordingSink.failures.get()).isZero();
+        assertThat(delivered).extracting(EmployeeChangeEvent::type)
+                .containsExactly(EmployeeChangeEvent.Type.CREATED, EmployeeChangeEvent.Type.UPDATED);
+        assertThat(recordingSink.failedAttempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("A change that rolls back leaves nothing in the outbox")
+    void givenRejectedUpdate_whenRelayed_thenNoEvent() {
+        //given - precondition or setup
+        Employee first = employeeService.saveEmployee(newEmployee());
+        Employee second = employeeService.saveEmployee(newEmployee());
+
+        //when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> employeeService.updateEmployee(second.getId(),
+                Employee.builder().firstName("Ada").lastName("Lovelace").email(first.getEmail()).build()))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+        employeeService.deleteEmployeeById(second.getId());
+
+        //then - the delete is relayed after the create, with no update in between
+        assertThat(awaitEvents(recordingSink.events, second.getId(), 2)).extracting(EmployeeChangeEvent::type)
+                .containsExactly(EmployeeChangeEvent.Type.CREATED, EmployeeChangeEvent.Type.DELETED);
+    }
+
+    // the relay delivers at least once, so a redelivered batch shows up again; the first delivery of each change counts
+    private static List<EmployeeChangeEvent> awaitEvents(List<EmployeeChangeEvent> events, long employeeId, int expected) {
+        Predicate<EmployeeChangeEvent> ofEmployee = event -> event.employeeId() == employeeId;
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (events.stream().filter(ofEmployee).map(EmployeeChangeEvent::sequence).distinct().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return events.stream().filter(ofEmployee).distinct().toList();
+    }
+
+    private EmployeeChangeEvent readEvent(String line) {
+        try {
+            return objectMapper.readValue(line, EmployeeChangeEvent.class);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static Employee newEmployee() {
+        return Employee.builder().firstName("John").lastName("Doe").email(UUID.randomUUID() + "@example.com").build();
+    }
+
+    static class RecordingSink implements EmployeeChangeSink {
+
+        final List<EmployeeChangeEvent> events = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger failedAttempts = new AtomicInteger();
+
+        @Override
+        public void publish(List<EmployeeChangeEvent> batch) {
+            if (failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                failedAttempts.incrementAndGet();
+                throw new IllegalStateException("sink unavailable");
+            }
+            events.addAll(batch);
+        }
+    }
+
+    static class InProcessListener {
+
+        final List<EmployeeChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onChange(EmployeeChangeEvent event) {
+            events.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+
+        @Bean
+        InProcessListener inProcessListener() {
+            return new InProcessListener();
+        }
+    }
+}
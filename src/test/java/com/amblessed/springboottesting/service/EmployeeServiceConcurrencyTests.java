@@ -0,0 +1,179 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import com.amblessed.springboottesting.config.EmployeeSyncProperties;
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
+import com.amblessed.springboottesting.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import net.datafaker.Faker;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "employee.sync.settle-time=4s")
+class EmployeeServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSyncProperties employeeSyncProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    private final Faker faker = new Faker();
+
+    @Test
+    @DisplayName("Parallel creates with the same email - exactly one succeeds, one statement each")
+    void givenParallelCreatesWithSameEmail_whenSaveEmployee_thenExactlyOneSucceeds() throws Exception {
+        //given - precondition or setup
+        String email = UUID.randomUUID() + "@" + faker.internet().domainName();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Employee>> results = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                Employee employee = Employee.builder()
+                        .firstName(faker.name().firstName())
+                        .lastName(faker.name().lastName())
+                        .email(email)
+                        .build();
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return employeeService.saveEmployee(employee);
+                }));
+            }
+            startGate.countDown();
+        }
+
+        //then: Using AssertJ for assertions
+        int created = 0;
+        int rejected = 0;
+        for (Future<Employee> result : results) {
+            try {
+                assertThat(result.get().getId()).isPositive();
+                created++;
+            } catch (ExecutionException exception) {
+                assertThat(exception.getCause()).isInstanceOf(ResourceAlreadyExistsException.class);
+                rejected++;
+            }
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(rejected).isEqualTo(THREADS - 1);
+        // check-then-insert needed a SELECT plus an INSERT per create; now it is one INSERT each (plus the read-back
+        // of the created row, the collection version bump of the one that committed and at most a couple of pooled
+        // sequence fetches) and no query at all
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(THREADS + 4L).isLessThan(2L * THREADS);
+    }
+
+    @Test
+    @DisplayName("A write transaction still open after maxWriteTime - rolled back, so delta sync cannot skip it")
+    void givenWriteOutlastingMaxWriteTime_whenCommit_thenRolledBack() {
+        //given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        //when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            employeeService.saveEmployee(employee);
+            sleep(employeeSyncProperties.maxWriteTime().plusMillis(200));
+        })).isInstanceOf(TransactionTimedOutException.class);
+
+        //then: Using AssertJ for assertions
+        assertThat(employeeRepository.findExistingEmails(List.of(employee.getEmail()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An import running longer than maxWriteTime - committed chunk by chunk, so nothing is rolled back")
+    void givenImportOutlastingMaxWriteTime_whenSaveEmployees_thenEveryChunkCommits() {
+        //given - every chunk takes at least 40% of maxWriteTime, three chunks together over it
+        Duration chunkTime = employeeSyncProperties.maxWriteTime().multipliedBy(4).dividedBy(10);
+        willAnswer(invocation -> {
+            sleep(chunkTime);
+            return invocation.callRealMethod();
+        }).given(employeeOutboxRepository).appendAll(any(), anyList());
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2 * EmployeeServiceImpl.COMMIT_CHUNK_SIZE + 1; i++) {
+            employees.add(Employee.builder()
+                    .firstName(faker.name().firstName())
+                    .lastName(faker.name().lastName())
+                    .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                    .build());
+        }
+        long started = System.nanoTime();
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(employees);
+
+        //then: Using AssertJ for assertions
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThan(employeeSyncProperties.maxWriteTime());
+        assertThat(results).extracting(EmployeeBatchResult::status).containsOnly(EmployeeBatchResult.Status.CREATED);
+        assertThat(employeeRepository.findExistingEmails(employees.stream().map(Employee::getEmail).toList()))
+                .hasSize(employees.size());
+        verify(employeeOutboxRepository, times(3)).appendAll(any(), anyList());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
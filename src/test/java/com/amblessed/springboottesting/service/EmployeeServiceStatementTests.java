@@ -0,0 +1,149 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.delete;
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.insert;
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.select;
+import static com.amblessed.springboottesting.support.SqlStatementRecorder.update;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the EmployeeService hot paths; a change that adds a query to one of them fails here.
+ */
+@SpringBootTest
+@Import(SqlStatementRecorder.Config.class)
+class EmployeeServiceStatementTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Faker faker = new Faker();
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeService.saveEmployee(newEmployee());
+        // start every test from the database rather than from what the second-level cache kept of setUp
+        entityManagerFactory.getCache().evictAll();
+        sqlStatementRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("saveEmployee - one INSERT plus the outbox row, one SELECT for the database-assigned columns and the collection version bumped, no email pre-check")
+    void givenNewEmployee_whenSaveEmployee_thenOneInsert() {
+        //when - action or the behaviour that we are going test
+        Employee saved = employeeService.saveEmployee(newEmployee());
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(select(1), insert(2), update(1));
+        assertThat(saved.getChangeVersion()).isNotNull();
+        assertThat(saved.getLastModified()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("saveEmployees - one IN query for existing emails, one batched INSERT per flush, one outbox INSERT per chunk, one IN query for the database-assigned columns and the collection version bumped")
+    void givenBatchOfEmployees_whenSaveEmployees_thenOneSelectAndOneInsertPerFlush() {
+        //given - precondition or setup
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EmployeeServiceImpl.INSERT_BATCH_SIZE * 2; i++) {
+            employees.add(newEmployee());
+        }
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(employees);
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(select(2), insert(4), update(1));
+        assertThat(results).extracting(EmployeeBatchResult::employee)
+                .allSatisfy(saved -> assertThat(saved.getLastModified()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("getEmployeeById - one SELECT when cold, none once cached")
+    void givenEmployeeId_whenGetEmployeeByIdTwice_thenOneSelect() {
+        //when - action or the behaviour that we are going test
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeById(employee.getId());
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("getEmployeesPage - one SELECT and no COUNT")
+    void givenLimit_whenGetEmployeesPage_thenOneSelect() {
+        //when - action or the behaviour that we are going test
+        employeeService.getEmployeesPage(null, 10);
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("getEmployeesByIds - one SELECT per IN-clause chunk")
+    void givenIds_whenGetEmployeesByIds_thenOneSelect() {
+        //when - action or the behaviour that we are going test
+        employeeService.getEmployeesByIds(List.of(employee.getId(), -1L));
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(select(1));
+    }
+
+    @Test
+    @DisplayName("updateEmployee - one UPDATE plus the outbox row and the collection version bumped, no lookup of the row")
+    void givenEmployee_whenUpdateEmployee_thenOneUpdate() {
+        //when - action or the behaviour that we are going test
+        employeeService.updateEmployee(employee.getId(), newEmployee());
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(update(2), insert(1));
+    }
+
+    @Test
+    @DisplayName("deleteEmployeeById - one DELETE, its tombstone, the outbox row and the collection version bumped, no lookup of the row")
+    void givenEmployee_whenDeleteEmployee_thenOneDelete() {
+        //when - action or the behaviour that we are going test
+        employeeService.deleteEmployeeById(employee.getId());
+
+        //then - verify the output
+        sqlStatementRecorder.assertStatements(delete(1), insert(2), update(1));
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
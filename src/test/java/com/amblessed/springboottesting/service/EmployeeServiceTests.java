@@ -8,30 +8,54 @@ package com.amblessed.springboottesting.service;
  * @Created: 21-Feb-25
  */
 
+import com.amblessed.springboottesting.config.EmployeeSyncProperties;
+import com.amblessed.springboottesting.exception.InvalidRequestException;
 import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
 import com.amblessed.springboottesting.exception.ResourceNotFoundException;
+import com.amblessed.springboottesting.exception.StaleVersionException;
 import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeChanges;
+import com.amblessed.springboottesting.model.EmployeeLookupResult;
+import com.amblessed.springboottesting.model.EmployeePage;
+import com.amblessed.springboottesting.model.EmployeeTombstone;
+import com.amblessed.springboottesting.repository.EmployeeCollectionVersionRepository;
+import com.amblessed.springboottesting.repository.EmployeeOutboxRepository;
 import com.amblessed.springboottesting.repository.EmployeeRepository;
+import com.amblessed.springboottesting.repository.EmployeeTombstoneRepository;
+import jakarta.persistence.EntityManager;
 import net.datafaker.Faker;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.condition.EnabledForJreRange;
 import org.junit.jupiter.api.condition.JRE;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @EnabledForJreRange(min = JRE.JAVA_17) // This annotation is used to enable the test for Java 17 and above since we are using Spring Boot 3
@@ -42,6 +66,24 @@ class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Mock
+    private EmployeeCollectionVersionRepository employeeCollectionVersionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private EmployeeSyncProperties employeeSyncProperties = new EmployeeSyncProperties(Duration.ofSeconds(5));
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -79,9 +121,7 @@ class EmployeeServiceTests {
     void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         //given - precondition or set-up
         // this is the mocking part
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         //when - action or the behavior that we are going test
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -89,6 +129,7 @@ class EmployeeServiceTests {
         //then: Using AssertJ for assertions
         assertThat(employee).isEqualTo(savedEmployee);
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any()); // the unique constraint replaces the pre-check query
     }
 
     @Test
@@ -96,10 +137,10 @@ class EmployeeServiceTests {
     @Order(3)
     void givenEmployeeObjectWithExistingEmail_whenSaveEmployee_thenThrowException() {
         //given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
-
-        // given(employeeRepository.save(employee)).willReturn(employee): this is not needed because we are testing the exception
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                        "Unique index or primary key violation", new SQLException("duplicate", "23505"),
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "UK_EMAIL")));
 
         //when - action or the behaviour that we are going test
         assertThrows(ResourceAlreadyExistsException.class, () -> employeeService.saveEmployee(employee));
@@ -111,7 +152,7 @@ class EmployeeServiceTests {
         assertThatThrownBy(() -> employeeService.saveEmployee(employee)).isInstanceOf(ResourceAlreadyExistsException.class);
 
         //then: Using AssertJ for assertions
-        verify(employeeRepository, never()).save(any(Employee.class)); // Verify that the save method was never called
+        verify(employeeRepository, never()).findByEmail(any()); // Verify that no pre-check query was issued
     }
 
     @Test
@@ -172,15 +213,14 @@ class EmployeeServiceTests {
     @Order(7)
     void givenEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployeeObject(){
         //given - precondition or setup
-        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
-        given(employeeRepository.save(employee)).willReturn(employee);
-
         String firstName = faker.name().firstName();
         String lastName = faker.name().lastName();
         String email = faker.internet().emailAddress();
         employee.setFirstName(firstName);
         employee.setLastName(lastName);
         employee.setEmail(email);
+        given(employeeRepository.updateEmployeeById(1L, firstName, lastName, email))
+                .willReturn(Optional.of(new Employee(1L, firstName, lastName, email, 21L, Instant.now(), 3L)));
 
         //when - action or the behaviour that we are going test
         Employee savedEmployee = employeeService.updateEmployee(employee.getId(), employee);
@@ -190,7 +230,10 @@ class EmployeeServiceTests {
         assertThat(savedEmployee.getFirstName()).isEqualTo(firstName);
         assertThat(savedEmployee.getLastName()).isEqualTo(lastName);
         assertThat(savedEmployee.getEmail()).isEqualTo(email);
-
+        assertThat(savedEmployee.getVersion()).isEqualTo(3L);
+        assertThat(savedEmployee.getChangeVersion()).isEqualTo(21L);
+        verify(employeeRepository, never()).findById(anyLong());   // one UPDATE statement, no lookups
+        verify(employeeRepository, never()).save(any(Employee.class));
     }
 
     @Test
@@ -201,13 +244,13 @@ class EmployeeServiceTests {
         long leftLimit = 7878787878L;
         long rightLimit = 9898989898L;
         long generatedLongId = leftLimit + (new Random().nextLong() * (rightLimit - leftLimit));
-        given(employeeRepository.findById(generatedLongId)).willReturn(Optional.empty());
-
         Employee updatedEmployee = Employee.builder()
                 .firstName(faker.name().firstName())
                 .lastName(faker.name().lastName())
                 .email(faker.internet().emailAddress())
                 .build();
+        given(employeeRepository.updateEmployeeById(generatedLongId, updatedEmployee.getFirstName(),
+                updatedEmployee.getLastName(), updatedEmployee.getEmail())).willReturn(Optional.empty());
 
 
         //when - action or the behaviour that we are going test
@@ -227,12 +270,210 @@ class EmployeeServiceTests {
         Long id = 1L;
 
         //given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(id); // How we mock methods that are void
+        given(employeeRepository.deleteEmployeeById(id)).willReturn(1);
 
         //when - action or the behaviour that we are going test
         employeeService.deleteEmployeeById(id);
 
-        verify(employeeRepository, times(1)).deleteById(id);
+        verify(employeeRepository, times(1)).deleteEmployeeById(id);
+        verify(employeeRepository, never()).deleteById(anyLong());  // deleteById would load the entity first
+    }
+
+    @Test
+    @DisplayName("JUnit test for Delete Employee method - Negative Scenario")
+    @Order(8)
+    void givenInvalidEmployeeId_whenDeleteEmployee_thenThrowException(){
+        //given - precondition or setup
+        Long invalidId = 989898L;
+        given(employeeRepository.deleteEmployeeById(invalidId)).willReturn(0);
+
+        //when - action or the behaviour that we are going test
+        assertThrowsExactly(ResourceNotFoundException.class, () -> employeeService.deleteEmployeeById(invalidId));
     }
 
+    @Test
+    @DisplayName("JUnit test for Get Employees Page - Cursor Round Trip")
+    @Order(9)
+    void givenMoreEmployeesThanLimit_whenGetEmployeesPage_thenReturnPageAndCursorToNextPage() {
+        //given - precondition or setup
+        List<Employee> employeesList = new ArrayList<>();
+        for (int i = 1; i <= 3; i++){
+            employeesList.add(new Employee((long) i, faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress()));
+        }
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).willReturn(employeesList);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).willReturn(employeesList.subList(2, 3));
+
+        //when - action or the behaviour that we are going test
+        EmployeePage firstPage = employeeService.getEmployeesPage(null, 2);
+        EmployeePage lastPage = employeeService.getEmployeesPage(firstPage.nextCursor(), 2);
+
+        //then: Using AssertJ for assertions
+        assertThat(firstPage.employees()).hasSize(2);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.employees()).hasSize(1);
+        assertThat(lastPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("JUnit test for Get Employees Page - Invalid Cursor And Limit")
+    @Order(10)
+    void givenInvalidCursorOrLimit_whenGetEmployeesPage_thenThrowException() {
+        assertThrows(InvalidRequestException.class, () -> employeeService.getEmployeesPage("not-a-cursor", 10));
+        assertThrows(InvalidRequestException.class, () -> employeeService.getEmployeesPage(null, 0));
+        assertThrows(InvalidRequestException.class, () -> employeeService.getEmployeesPage(null, EmployeeServiceImpl.MAX_PAGE_SIZE + 1));
+
+        verify(employeeRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Export Employees - rows are detached after being written")
+    @Order(11)
+    void givenEmployeeStream_whenExportEmployees_thenWriteAndDetachEveryRow() {
+        //given - precondition or setup
+        List<Employee> employeesList = new ArrayList<>();
+        for (int i = 1; i <= 3; i++){
+            employeesList.add(new Employee((long) i, faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress()));
+        }
+        given(employeeRepository.streamAllByOrderByIdAsc()).willReturn(employeesList.stream());
+        List<Employee> exported = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        employeeService.exportEmployees(exported::add);
+
+        //then: Using AssertJ for assertions
+        assertThat(exported).containsExactlyElementsOf(employeesList);
+        employeesList.forEach(emp -> verify(entityManager).detach(emp));
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("JUnit test for saveEmployees - one IN query and per item results")
+    @Order(12)
+    void givenBatchWithExistingAndRepeatedEmails_whenSaveEmployees_thenReportResultPerItem() {
+        //given - precondition or setup
+        Employee existing = Employee.builder().firstName(faker.name().firstName()).lastName(faker.name().lastName()).email(faker.internet().emailAddress()).build();
+        Employee repeated = Employee.builder().firstName(faker.name().firstName()).lastName(faker.name().lastName()).email(employee.getEmail()).build();
+        Employee withoutEmail = Employee.builder().firstName(faker.name().firstName()).lastName(faker.name().lastName()).build();
+        Employee withoutLastName = Employee.builder().firstName(faker.name().firstName()).email(faker.internet().emailAddress()).build();
+        given(employeeRepository.findExistingEmails(List.of(employee.getEmail(), existing.getEmail(), withoutLastName.getEmail())))
+                .willReturn(List.of(existing.getEmail()));
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated, withoutEmail, withoutLastName));
+
+        //then: Using AssertJ for assertions
+        assertThat(results).extracting(EmployeeBatchResult::status).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.INVALID,
+                EmployeeBatchResult.Status.INVALID);
+        assertThat(results).extracting(EmployeeBatchResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results.get(3).message()).isEqualTo("email is required");
+        assertThat(results.get(4).message()).isEqualTo("lastName is required");
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for getEmployeesByIds - request order, missing ids and chunked IN queries")
+    @Order(13)
+    void givenMoreIdsThanChunkSize_whenGetEmployeesByIds_thenQueryInChunksAndKeepRequestOrder() {
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, EmployeeServiceImpl.IN_CLAUSE_CHUNK_SIZE + 1).boxed().toList());
+        ids.addFirst(ids.getLast());
+        Employee first = new Employee(1L, faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress());
+        Employee last = new Employee(ids.getFirst(), faker.name().firstName(), faker.name().lastName(), faker.internet().emailAddress());
+        given(employeeRepository.findAllById(any())).willReturn(List.of(first), List.of(last));
+
+        //when - action or the behaviour that we are going test
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(ids);
+
+        //then: Using AssertJ for assertions
+        assertThat(result.employees()).containsExactly(last, first);
+        assertThat(result.missingIds()).hasSize(EmployeeServiceImpl.IN_CLAUSE_CHUNK_SIZE - 1).doesNotContain(1L, last.getId());
+        verify(employeeRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for getEmployeesByIds - too many ids")
+    @Order(14)
+    void givenTooManyIds_whenGetEmployeesByIds_thenThrowException() {
+        //given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, EmployeeServiceImpl.MAX_LOOKUP_IDS + 1).boxed().toList();
+
+        //when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> employeeService.getEmployeesByIds(ids)).isInstanceOf(InvalidRequestException.class);
+
+        //then: Using AssertJ for assertions
+        verify(employeeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for getEmployeeChanges - updates and deletes merged by version, up to the first change unsettled by the database's clock")
+    @Order(15)
+    void givenChangesAndTombstones_whenGetEmployeeChanges_thenMergedUntilUnsettled() {
+        //given - precondition or setup, with a database clock far behind the application's
+        Instant databaseTime = Instant.now().minus(Duration.ofDays(1));
+        Instant settled = databaseTime.minusSeconds(60);
+        Employee updated = Employee.builder().id(1L).firstName("Ada").lastName("Lovelace").email("ada@example.com")
+                .changeVersion(11L).lastModified(settled).build();
+        Employee unsettled = Employee.builder().id(2L).firstName("Grace").lastName("Hopper").email("grace@example.com")
+                .changeVersion(13L).lastModified(databaseTime).build();
+        EmployeeTombstone deleted = new EmployeeTombstone(3L, 12L, settled);
+        given(employeeRepository.findDatabaseTime()).willReturn(databaseTime);
+        given(employeeRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(10L, Limit.of(EmployeeServiceImpl.DEFAULT_PAGE_SIZE + 1)))
+                .willReturn(List.of(updated, unsettled));
+        given(employeeTombstoneRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(10L, Limit.of(EmployeeServiceImpl.DEFAULT_PAGE_SIZE + 1)))
+                .willReturn(List.of(deleted));
+
+        //when - action or the behaviour that we are going test
+        EmployeeChanges changes = employeeService.getEmployeeChanges(EmployeeChangeToken.encode(10L), null);
+
+        //then: Using AssertJ for assertions
+        assertThat(changes.changed()).containsExactly(updated);
+        assertThat(changes.deleted()).containsExactly(deleted);
+        assertThat(EmployeeChangeToken.decode(changes.nextToken())).isEqualTo(12L);
+        assertThat(changes.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("JUnit test for Update Employee - a version someone else has moved past is rejected")
+    @Order(16)
+    void givenStaleVersion_whenUpdateEmployee_thenThrowStaleVersionException() {
+        //given - precondition or setup
+        employee.setVersion(4L);
+        given(employeeRepository.updateEmployeeByIdAndVersion(1L, 4L, employee.getFirstName(), employee.getLastName(), employee.getEmail()))
+                .willReturn(Optional.empty());
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        //when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> employeeService.updateEmployee(1L, employee)).isInstanceOf(StaleVersionException.class);
+
+        //then: Using AssertJ for assertions
+        verify(employeeRepository, never()).updateEmployeeById(anyLong(), any(), any(), any());
+        verify(employeeOutboxRepository, never()).append(any(), any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for saveEmployees - an email created concurrently is a conflict, not a bad request")
+    @Order(17)
+    void givenEmailCreatedConcurrently_whenSaveEmployees_thenThrowResourceAlreadyExistsException() {
+        //given - the IN query found nothing, but the unique index rejects the insert
+        given(employeeRepository.findExistingEmails(List.of(employee.getEmail()))).willReturn(List.of());
+        given(employeeRepository.save(employee)).willReturn(employee);
+        willThrow(new DataIntegrityViolationException("could not execute batch", new ConstraintViolationException(
+                "Unique index or primary key violation", new SQLException("duplicate", "23505"),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "UK_EMAIL")))
+                .given(employeeRepository).flush();
+
+        //when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> employeeService.saveEmployees(List.of(employee)))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+
+        //then: Using AssertJ for assertions
+        verify(employeeOutboxRepository, never()).appendAll(any(), any());
+    }
 }
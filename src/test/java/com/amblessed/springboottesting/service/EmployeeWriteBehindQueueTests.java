@@ -0,0 +1,152 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.config.EmployeeWriteBehindProperties;
+import com.amblessed.springboottesting.exception.ResourceAlreadyExistsException;
+import com.amblessed.springboottesting.exception.WriteQueueFullException;
+import com.amblessed.springboottesting.exception.WriteQueueStoppedException;
+import com.amblessed.springboottesting.model.Employee;
+import com.amblessed.springboottesting.model.EmployeeBatchResult;
+import com.amblessed.springboottesting.model.EmployeeWriteStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeWriteBehindQueue queue;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicLong nextId = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Creates that arrive together are written as one batch")
+    void givenCreatesWithinFlushInterval_whenFlushed_thenOneSaveEmployeesCall() {
+        //given - precondition or setup
+        List<Integer> batchSizes = new ArrayList<>();
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            batchSizes.add(employees.size());
+            return created(employees);
+        });
+        queue = newQueue(100, 10, Duration.ofMillis(200));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeWriteStatus> accepted = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            accepted.add(queue.submit(newEmployee(i)));
+        }
+        queue.stop();
+
+        //then - verify the output
+        assertThat(batchSizes).containsExactly(10, 10, 5);
+        assertThat(accepted).allSatisfy(status -> assertThat(queue.getStatus(status.trackingId()))
+                .hasValueSatisfying(written -> assertThat(written.state()).isEqualTo(EmployeeWriteStatus.State.CREATED)));
+    }
+
+    @Test
+    @DisplayName("A full queue refuses the next create straight away")
+    void givenQueueFull_whenSubmit_thenWriteQueueFullException() throws InterruptedException {
+        //given - the flusher is held inside the first batch, two more creates fill the queue
+        CountDownLatch flushing = new CountDownLatch(1);
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return created(invocation.getArgument(0));
+        });
+        queue = newQueue(2, 1, Duration.ofMillis(10));
+        queue.submit(newEmployee(0));
+        flushing.await(5, TimeUnit.SECONDS);
+        queue.submit(newEmployee(1));
+        queue.submit(newEmployee(2));
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThatThrownBy(() -> queue.submit(newEmployee(3))).isInstanceOf(WriteQueueFullException.class);
+    }
+
+    @Test
+    @DisplayName("A batch that rolls back is retried one by one, so only the offending create fails")
+    void givenBatchRollsBack_whenFlushed_thenCreatesWrittenSingly() {
+        //given - precondition or setup
+        given(employeeService.saveEmployees(anyList())).willThrow(new DataIntegrityViolationException("uk_email"));
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            if (employee.getEmail().startsWith("taken")) {
+                throw new ResourceAlreadyExistsException("Employee with given email: " + employee.getEmail() + " already exists");
+            }
+            employee.setId(nextId.incrementAndGet());
+            return employee;
+        });
+        queue = newQueue(10, 10, Duration.ofMillis(200));
+        Employee taken = newEmployee(1);
+        taken.setEmail("taken@example.com");
+
+        //when - action or the behaviour that we are going test
+        EmployeeWriteStatus fresh = queue.submit(newEmployee(0));
+        EmployeeWriteStatus duplicate = queue.submit(taken);
+        queue.stop();
+
+        //then - verify the output
+        assertThat(queue.getStatus(fresh.trackingId()).orElseThrow().state()).isEqualTo(EmployeeWriteStatus.State.CREATED);
+        assertThat(queue.getStatus(duplicate.trackingId()).orElseThrow().state()).isEqualTo(EmployeeWriteStatus.State.DUPLICATE);
+        assertThatThrownBy(() -> queue.submit(newEmployee(2))).isInstanceOf(WriteQueueStoppedException.class);
+    }
+
+    private EmployeeWriteBehindQueue newQueue(int capacity, int batchSize, Duration flushInterval) {
+        EmployeeWriteBehindQueue started = new EmployeeWriteBehindQueue(employeeService, new EmployeeWriteBehindProperties(
+                true, capacity, batchSize, flushInterval, Duration.ofMinutes(1), 1000, Duration.ofSeconds(5)));
+        started.start();
+        return started;
+    }
+
+    private List<EmployeeBatchResult> created(List<Employee> employees) {
+        List<EmployeeBatchResult> results = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            employee.setId(nextId.incrementAndGet());
+            results.add(EmployeeBatchResult.created(index, employee));
+        }
+        return results;
+    }
+
+    private static Employee newEmployee(int index) {
+        return new Employee(null, "John", "Doe", "john" + index + "@example.com");
+    }
+}
@@ -0,0 +1,92 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.exception.StaleVersionException;
+import com.amblessed.springboottesting.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RetryingEmployeeUpdaterTests {
+
+    private static final int UPDATERS = 16;
+    private static final int UPDATES_PER_UPDATER = 10;
+
+    @Autowired
+    private RetryingEmployeeUpdater retryingEmployeeUpdater;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("Concurrent read-modify-writes of one employee all land, none overwrites another")
+    void givenConcurrentUpdaters_whenUpdateSameEmployee_thenNoUpdateIsLost() throws Exception {
+        //given - the first name holds a counter every update increments
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("0").lastName("Doe").email(UUID.randomUUID() + "@example.com").build());
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> updaters = new ArrayList<>();
+            for (int updater = 0; updater < UPDATERS; updater++) {
+                updaters.add(executor.submit(() -> {
+                    for (int update = 0; update < UPDATES_PER_UPDATER; update++) {
+                        retryingEmployeeUpdater.update(employee.getId(), current -> {
+                            current.setFirstName(String.valueOf(Integer.parseInt(current.getFirstName()) + 1));
+                            return current;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> updater : updaters) {
+                updater.get();
+            }
+        }
+
+        //then - verify the output
+        Employee updated = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        assertThat(updated.getFirstName()).isEqualTo(String.valueOf(UPDATERS * UPDATES_PER_UPDATER));
+        assertThat(updated.getVersion()).isEqualTo((long) UPDATERS * UPDATES_PER_UPDATER);
+    }
+
+    @Test
+    @DisplayName("An update that keeps losing gives up after the last attempt with the conflict")
+    void givenWriterThatAlwaysWins_whenUpdate_thenStaleVersionAfterMaxAttempts() {
+        //given - precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John").lastName("Doe").email(UUID.randomUUID() + "@example.com").build());
+        AtomicInteger attempts = new AtomicInteger();
+
+        //when - every attempt is overtaken by a blind update between its read and its write
+        assertThatThrownBy(() -> retryingEmployeeUpdater.update(employee.getId(), current -> {
+            attempts.incrementAndGet();
+            employeeService.updateEmployee(employee.getId(), Employee.builder()
+                    .firstName("Jane").lastName("Doe").email(employee.getEmail()).build());
+            return current;
+        })).isInstanceOf(StaleVersionException.class);
+
+        //then - verify the output
+        assertThat(attempts).hasValue(RetryingEmployeeUpdater.MAX_ATTEMPTS);
+    }
+}
@@ -0,0 +1,141 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+    private static final int CALLERS = 32;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Concurrent calls for one key share a single load")
+    void givenConcurrentCallsForSameKey_whenExecute_thenLoaderRunsOnceAndResultIsShared() throws Exception {
+        //given - the loader blocks until every caller has arrived
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "employee-1";
+                })));
+            }
+            waitUntil(() -> singleFlight.coalescedCount() == CALLERS - 1);
+            release.countDown();
+        }
+
+        //then - verify the output
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("employee-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.coalescedCount()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("A failed load fails every caller that joined it")
+    void givenFailingLoader_whenCallsCoalesce_thenEveryCallerSeesTheException() throws Exception {
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(7L, () -> {
+                    await(release);
+                    throw new IllegalStateException("database unavailable");
+                })));
+            }
+            waitUntil(() -> singleFlight.coalescedCount() == 3);
+            release.countDown();
+        }
+
+        //then - verify the output
+        for (Future<String> result : results) {
+            assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Sequential calls and different keys are not coalesced")
+    void givenSequentialCallsAndDistinctKeys_whenExecute_thenEachCallLoads() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "a" + loads.incrementAndGet());
+        singleFlight.execute(1L, () -> "a" + loads.incrementAndGet());
+        singleFlight.execute(2L, () -> "b" + loads.incrementAndGet());
+
+        assertThat(loads).hasValue(3);
+        assertThat(singleFlight.coalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("After forget, new callers start a fresh load")
+    void givenRunningLoad_whenForgotten_thenNextCallerLoadsAgain() throws Exception {
+        //given - a load is in flight
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> stale = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                return "before-write";
+            }));
+            Thread.sleep(50);
+
+            //when - a write forgets the running load
+            singleFlight.forget(1L);
+            String fresh = singleFlight.execute(1L, () -> "after-write");
+            release.countDown();
+
+            //then - verify the output
+            assertThat(fresh).isEqualTo("after-write");
+            assertThat(stale.get()).isEqualTo("before-write");
+            assertThat(singleFlight.coalescedCount()).isZero();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.amblessed.springboottesting.service;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import com.amblessed.springboottesting.model.Employee;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JPA read and write paths on virtual threads under JFR and fails on any jdk.VirtualThreadPinned event,
+ * i.e. a virtual thread that blocked while holding a monitor and so kept its carrier thread busy. The pool is
+ * kept smaller than the number of callers so connection waits happen, which is where pinning would hurt.
+ */
+@SpringBootTest(properties = {
+        "employee.service-cache.enabled=true",
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+class VirtualThreadPinningTests {
+
+    private static final int EMPLOYEES = 200;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final Faker faker = new Faker();
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            batch.add(newEmployee());
+        }
+        employeeService.saveEmployees(batch).forEach(result -> employees.add(result.employee()));
+    }
+
+    @Test
+    @DisplayName("Virtual threads - reads, cache loads and writes do not pin carrier threads")
+    void givenManyVirtualThreads_whenReadingAndWritingEmployees_thenNoCarrierThreadIsPinned() throws Exception {
+        //given - precondition or setup
+        Path recordingFile = Files.createTempFile("pinning", ".jfr");
+        boolean finished;
+
+        //when - action or the behaviour that we are going test
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            for (Employee employee : employees) {
+                // two readers per id so cache loads of the same key overlap
+                executor.submit(() -> employeeService.getEmployeeById(employee.getId()));
+                executor.submit(() -> employeeService.getEmployeeById(employee.getId()));
+                executor.submit(() -> employeeService.getEmployeesPage(null, 20));
+                executor.submit(() -> employeeService.updateEmployee(employee.getId(), newEmployee()));
+            }
+            executor.shutdown();
+            // with few carrier threads, pinned threads waiting for a connection can stall everything; fail instead of hanging
+            finished = executor.awaitTermination(1, TimeUnit.MINUTES);
+            executor.shutdownNow();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        //then - verify the output
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+        assertThat(finished).as("all calls completed within a minute").isTrue();
+        assertThat(pinned).as("pinned virtual threads:%n%s", describe(pinned)).isEmpty();
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .limit(5)
+                .map(event -> event.getStackTrace() == null ? "(no stack trace)" : event.getStackTrace().getFrames().stream()
+                        .limit(25)
+                        .map(RecordedFrame::getMethod)
+                        .map(method -> "    at " + method.getType().getName() + "." + method.getName())
+                        .collect(Collectors.joining("\n")))
+                .collect(Collectors.joining("\n  ---\n"));
+    }
+
+    private Employee newEmployee() {
+        return Employee.builder()
+                .firstName(faker.name().firstName())
+                .lastName(faker.name().lastName())
+                .email(UUID.randomUUID() + "@" + faker.internet().domainName())
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.amblessed.springboottesting.support;
+
+
+
+/*
+ * @Project Name: springboot-testing
+ * @Author: Okechukwu Bright Onwumere
+ * @Created: 17-Oct-26
+ */
+
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records every SQL statement Hibernate prepares. Add it to a test context with
+ * {@code @Import(SqlStatementRecorder.Config.class)} and autowire the recorder.
+ * <p>
+ * Statement budgets are checked with {@link #assertStatements}, e.g.
+ * {@code sqlStatementRecorder.assertStatements(select(1), insert(1))}: every kind not listed must not occur at all.
+ * Counts are per prepared statement, so a JDBC batch of inserts counts once. Sequence fetches are ignored,
+ * since the pooled optimizer only issues them once per block of ids and whether a call hits one is luck.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final Pattern SEQUENCE_FETCH = Pattern.compile("(?is)^\\s*(select|call|values)\\s+next\\s+value\\s+for\\b.*");
+    // SELECT ... FROM OLD TABLE (UPDATE ...) and the like: counted as the write they wrap
+    private static final Pattern DATA_CHANGE_DELTA_TABLE = Pattern.compile("(?is)^\\s*select\\b.*?\\bfrom\\s+(?:old|new|final)\\s+table\\s*\\(\\s*(\\w+).*");
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    public record Expected(Kind kind, int count) {
+    }
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public String lastStatement() {
+        return statements.getLast();
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public static Expected select(int count) {
+        return new Expected(Kind.SELECT, count);
+    }
+
+    public static Expected insert(int count) {
+        return new Expected(Kind.INSERT, count);
+    }
+
+    public static Expected update(int count) {
+        return new Expected(Kind.UPDATE, count);
+    }
+
+    public static Expected delete(int count) {
+        return new Expected(Kind.DELETE, count);
+    }
+
+    /**
+     * Asserts the statements recorded since the last {@link #clear()}: exactly the given counts, and none of any other kind.
+     */
+    public void assertStatements(Expected... expected) {
+        Map<Kind, Integer> wanted = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            wanted.put(kind, 0);
+        }
+        for (Expected expectation : expected) {
+            wanted.put(expectation.kind(), expectation.count());
+        }
+        List<String> recorded = statements().stream().filter(sql -> !SEQUENCE_FETCH.matcher(sql).matches()).toList();
+        Map<Kind, Integer> actual = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            actual.put(kind, 0);
+        }
+        recorded.forEach(sql -> actual.merge(kindOf(sql), 1, Integer::sum));
+        assertThat(actual).as("SQL statements issued:%n  %s", String.join("\n  ", recorded)).isEqualTo(wanted);
+    }
+
+    private static Kind kindOf(String sql) {
+        Matcher deltaTable = DATA_CHANGE_DELTA_TABLE.matcher(sql);
+        String keyword = (deltaTable.matches() ? deltaTable.group(1) : sql.stripLeading().split("\\s+", 2)[0]).toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "SELECT", "WITH" -> Kind.SELECT;
+            case "INSERT" -> Kind.INSERT;
+            case "UPDATE" -> Kind.UPDATE;
+            case "DELETE" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public SqlStatementRecorder sqlStatementRecorder() {
+            return new SqlStatementRecorder();
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer sqlStatementRecorderCustomizer(SqlStatementRecorder recorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, recorder);
+        }
+    }
+}